@@ -1,9 +1,16 @@
 package edu.augustana.csc305.project;
 
+import edu.augustana.csc305.project.config.ApplicationConfig;
 import edu.augustana.csc305.project.controller.AppController;
+import edu.augustana.csc305.project.service.ApiClient;
+import edu.augustana.csc305.project.service.MatchUpdateQueue;
+import edu.augustana.csc305.project.service.TaskExecutorService;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class ProjectApp extends Application {
 
     public static void main(String[] args) {
@@ -15,4 +22,26 @@ public class ProjectApp extends Application {
         AppController appController = new AppController(primaryStage);
         appController.startApp();
     }
+
+    @Override
+    public void stop() {
+        MatchUpdateQueue.getInstance().shutdown();
+        TaskExecutorService.getInstance().shutdown();
+        dumpNetworkMetrics();
+    }
+
+    /**
+     * Writes the per-endpoint network timings to {@code NETWORK_METRICS_FILE}, if configured.
+     */
+    private void dumpNetworkMetrics() {
+        String file = ApplicationConfig.getProperty("NETWORK_METRICS_FILE");
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        try {
+            ApiClient.getInstance().getNetworkMetrics().dump(Path.of(file));
+        } catch (IOException e) {
+            System.err.println("Failed to write network metrics: " + e.getMessage());
+        }
+    }
 }
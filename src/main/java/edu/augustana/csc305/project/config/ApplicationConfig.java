@@ -67,4 +67,24 @@ public class ApplicationConfig {
     public static String getProperty(String key) {
         return PROPERTIES.getProperty(key);
     }
+
+    /**
+     * Retrieves an integer property, falling back to a default when the key is missing or malformed.
+     *
+     * @param key The property key to look up.
+     * @param defaultValue The value to use if the property is absent or not a valid integer.
+     * @return The parsed integer value, or {@code defaultValue}.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = PROPERTIES.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("WARNING: " + key + " is not a valid integer ('" + value + "'). Using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
 }
\ No newline at end of file
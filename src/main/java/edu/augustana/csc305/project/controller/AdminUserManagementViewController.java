@@ -5,6 +5,7 @@ import edu.augustana.csc305.project.model.domain.User;
 import edu.augustana.csc305.project.model.domain.UserRole;
 import edu.augustana.csc305.project.service.ApiClient;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.TaskExecutorService;
 import edu.augustana.csc305.project.userInterface.AdminUserManagementView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.application.Platform;
@@ -202,6 +203,6 @@ public class AdminUserManagementViewController extends ViewController {
             }
         };
 
-        new Thread(creationTask).start();
+        TaskExecutorService.getInstance().execute(creationTask);
     }
 }
\ No newline at end of file
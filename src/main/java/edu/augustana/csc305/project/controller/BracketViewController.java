@@ -1,36 +1,39 @@
 package edu.augustana.csc305.project.controller;
 
-import edu.augustana.csc305.project.model.api.BracketDTO;
-import edu.augustana.csc305.project.model.api.MatchDTO;
-import edu.augustana.csc305.project.model.api.MatchUpdateDTO;
-import edu.augustana.csc305.project.model.api.RoundDTO;
 import edu.augustana.csc305.project.model.domain.*;
 import edu.augustana.csc305.project.service.ApiClient;
+import edu.augustana.csc305.project.service.BracketStreamDecoder;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.MatchUpdateQueue;
+import edu.augustana.csc305.project.service.ResultHistory;
+import edu.augustana.csc305.project.service.TaskExecutorService;
+import edu.augustana.csc305.project.service.WinnerPropagationEngine;
 import edu.augustana.csc305.project.userInterface.BracketView;
 import edu.augustana.csc305.project.userInterface.MatchDetailView;
 import edu.augustana.csc305.project.userInterface.View;
-import javafx.collections.ListChangeListener;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.scene.Scene;
 import javafx.scene.control.ComboBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import okhttp3.ResponseBody;
 import retrofit2.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Controller for the {@link BracketView}.
  *
  * <p>This class manages interactions with the bracket visualization, including
  * fetching bracket data from the Kronos API, mapping DTOs to domain objects,
- * handling bracket selection, and managing match updates via pop-ups and API synchronization.</p>
+ * handling bracket selection, and managing match updates via pop-ups and API synchronization.
+ * Results are recorded through a {@link ResultHistory} per bracket, so they can be undone and redone.
+ * In what-if mode, results are tried out on a {@link BracketOverlay} and can be applied as one undo step.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
  */
@@ -39,6 +42,8 @@ public class BracketViewController extends ViewController {
     private final BracketView bracketView;
     private final AuthenticationService authService;
     private final KronosApi api;
+    private final WinnerPropagationEngine propagationEngine;
+    private final Map<Bracket, ResultHistory> histories = new WeakHashMap<>();
 
     /**
      * Constructs a new BracketViewController.
@@ -51,6 +56,7 @@ public class BracketViewController extends ViewController {
         this.bracketView = (BracketView) view;
         this.authService = appController.getAuthService();
         this.api = ApiClient.getInstance().getKronosApi();
+        this.propagationEngine = new WinnerPropagationEngine(MatchUpdateQueue.getInstance(), tournament.getEventJournal());
         initialize();
         attachEvents();
     }
@@ -64,56 +70,37 @@ public class BracketViewController extends ViewController {
     }
 
     /**
-     * Fetches bracket data from the API, maps the DTOs to {@link Bracket} domain objects,
-     * and updates the tournament model.
+     * Fetches bracket data from the API and streams it into {@link Bracket} domain objects
+     * with the {@link BracketStreamDecoder}. Each bracket is merged into the tournament model as soon
+     * as it has been read, so the first one is shown while the rest are still loading. The flat
+     * bracket format is requested; the nested format is still accepted from older servers.
      * This runs on a background thread.
+     *
+     * <p>Brackets that are already shown are patched in place with a {@link BracketDiff} rather than
+     * replaced, so the selection, bindings and rendered nodes survive a reload. Brackets the server
+     * no longer returns are removed once the load has finished.</p>
      */
     private void reloadTournamentData() {
-        Task<List<Bracket>> task = new Task<>() {
+        Set<Integer> loadedIds = new HashSet<>();
+        Task<Integer> task = new Task<>() {
             @Override
-            protected List<Bracket> call() throws Exception {
-                Response<List<BracketDTO>> response = api.getBracketsForTournament(tournament.getTournamentId()).execute();
+            protected Integer call() throws Exception {
+                Response<ResponseBody> response = api.getBracketsForTournamentNegotiated(tournament.getTournamentId()).execute();
                 if (!response.isSuccessful() || response.body() == null) {
                     throw new IOException("Failed to load brackets.");
                 }
 
-                List<BracketDTO> bracketDTOs = response.body();
-                List<Bracket> domainBrackets = new ArrayList<>();
-
-                for (BracketDTO bDto : bracketDTOs) {
-                    Bracket bracket = new Bracket(bDto.getName(), bDto.getType());
-                    bracket.setBracketId(bDto.getBracketId());
-
-                    Map<Integer, Match> matchCache = new HashMap<>();
-
-                    List<RoundDTO> sortedRounds = new ArrayList<>(bDto.getRounds());
-                    sortedRounds.sort(Comparator.comparingInt(RoundDTO::getRoundId));
-
-                    for (RoundDTO rDto : sortedRounds) {
-                        Round round = new Round();
-                        round.setRoundId(rDto.getRoundId());
-
-                        for (MatchDTO mDto : rDto.getMatches()) {
-                            Match match = mapMatchDTO(mDto, matchCache);
-                            round.addMatch(match);
-                        }
-                        bracket.addRound(round);
-                    }
-                    domainBrackets.add(bracket);
+                try (ResponseBody body = response.body()) {
+                    return BracketStreamDecoder.decode(body, tournament.getTeamRegistry(),
+                            bracket -> Platform.runLater(() -> mergeBracket(bracket, loadedIds)));
                 }
-                return domainBrackets;
             }
 
             @Override
             protected void succeeded() {
-                tournament.getBrackets().setAll(getValue());
-                if (!tournament.getBrackets().isEmpty()) {
-                    if (bracketView.getBracketSelector().getSelectionModel().isEmpty()) {
-                        bracketView.getBracketSelector().getSelectionModel().selectFirst();
-                    } else {
-                        Bracket selected = bracketView.getBracketSelector().getSelectionModel().getSelectedItem();
-                        bracketView.renderBracket(selected);
-                    }
+                tournament.getBrackets().removeIf(bracket -> !loadedIds.contains(bracket.getBracketId()));
+                if (!tournament.getBrackets().isEmpty() && bracketView.getBracketSelector().getSelectionModel().isEmpty()) {
+                    bracketView.getBracketSelector().getSelectionModel().selectFirst();
                 }
             }
 
@@ -123,62 +110,35 @@ public class BracketViewController extends ViewController {
                 getException().printStackTrace();
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
-     * Recursively maps a {@link MatchDTO} to a {@link Match} domain object.
-     * Uses a cache to ensure shared references for source matches are maintained,
-     * allowing for correct construction of the bracket tree.
+     * Merges a freshly loaded bracket into the tournament with
+     * {@link Tournament#mergeBracket(Bracket, Set)}, keeping the results that are still queued on the
+     * {@link MatchUpdateQueue}. The undo history of a patched bracket is dropped if the server changed
+     * any of its matches, as it no longer describes the bracket. Runs on the JavaFX application thread.
      *
-     * @param dto The Match DTO to map.
-     * @param cache A map used to store and retrieve already created Match objects by ID.
-     * @return The resulting {@link Match} domain object.
+     * @param fresh The bracket as loaded from the server.
+     * @param loadedIds The IDs of the brackets merged so far in this load.
      */
-    private Match mapMatchDTO(MatchDTO dto, Map<Integer, Match> cache) {
-        if (dto == null) return null;
-
-        Match match;
-        if (cache.containsKey(dto.getMatchId())) {
-            match = cache.get(dto.getMatchId());
-        } else {
-            match = new Match();
-            match.setMatchId(dto.getMatchId());
-            cache.put(dto.getMatchId(), match);
-        }
-
-        match.setComplete(dto.isComplete());
-
-        if (dto.getTeam1() != null) {
-            Team t = new Team(dto.getTeam1().getName());
-            t.setTeamId(dto.getTeam1().getTeamId());
-            match.setTeam1(t);
-        }
-        if (dto.getTeam2() != null) {
-            Team t = new Team(dto.getTeam2().getName());
-            t.setTeamId(dto.getTeam2().getTeamId());
-            match.setTeam2(t);
-        }
-        if (dto.getWinner() != null) {
-            Team t = new Team(dto.getWinner().getName());
-            t.setTeamId(dto.getWinner().getTeamId());
-            match.setWinner(t);
-        }
-
-        if (dto.getSourceMatch1() != null) {
-            match.setSourceMatch1(mapMatchDTO(dto.getSourceMatch1(), cache));
-        }
-        if (dto.getSourceMatch2() != null) {
-            match.setSourceMatch2(mapMatchDTO(dto.getSourceMatch2(), cache));
+    private void mergeBracket(Bracket fresh, Set<Integer> loadedIds) {
+        loadedIds.add(fresh.getBracketId());
+        Bracket live = tournament.getBrackets().stream()
+                .filter(bracket -> bracket.getBracketId() == fresh.getBracketId())
+                .findFirst().orElse(null);
+        if (!tournament.mergeBracket(fresh, MatchUpdateQueue.getInstance().getPendingMatchIds()).isEmpty()) {
+            histories.remove(live);
+            if (live == bracketView.getBracketSelector().getValue()) {
+                bindUndoButtons(live);
+            }
         }
-
-        return match;
     }
 
     /**
      * Attaches event handlers to the UI components in the {@link BracketView}.
      * This includes listeners for bracket selection, navigation buttons, the back button,
-     * and changes to the tournament's list of brackets.
+     * and the tournament's revision, so a batch of changes to the tournament updates the selector once.
      *
      * <p>This implementation received assistance from an AI model
      * (Gemini 2.5 Pro) for specific functionality/debugging.</p>
@@ -186,12 +146,34 @@ public class BracketViewController extends ViewController {
     @Override
     protected void attachEvents() {
         bracketView.getBracketSelector().getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            bracketView.setOverlay(null);
             if (newVal != null) {
                 bracketView.renderBracket(newVal);
                 bracketView.updateMatchNodeInteractivity(authService.getCurrentUser(), this::showMatchDetailPopup);
             }
+            bindUndoButtons(newVal);
+        });
+
+        bracketView.getUndoButton().setOnAction(e -> {
+            Bracket bracket = bracketView.getBracketSelector().getValue();
+            bracketView.setOverlay(null);
+            if (bracket != null && !historyFor(bracket).undo().isEmpty()) {
+                bracketView.renderBracket(bracket);
+            }
+        });
+
+        bracketView.getRedoButton().setOnAction(e -> {
+            Bracket bracket = bracketView.getBracketSelector().getValue();
+            bracketView.setOverlay(null);
+            if (bracket != null && !historyFor(bracket).redo().isEmpty()) {
+                bracketView.renderBracket(bracket);
+            }
         });
 
+        bracketView.getWhatIfButton().setOnAction(e -> toggleWhatIf());
+        bracketView.getApplyScenarioButton().setOnAction(e -> applyScenario());
+        bracketView.setOnTeamClicked(this::pickHypotheticalWinner);
+
         bracketView.getPreviousButton().setOnAction(e -> {
             ComboBox<Bracket> selector = bracketView.getBracketSelector();
             if (selector.getItems().isEmpty()) return;
@@ -210,12 +192,16 @@ public class BracketViewController extends ViewController {
 
         bracketView.getBackButton().setOnAction(e -> appController.showHomeView());
 
-        tournament.getBrackets().addListener((ListChangeListener<Bracket>) c -> {
+        tournament.revisionProperty().addListener((obs, oldRevision, newRevision) -> {
+            if (bracketView.getBracketSelector().getItems().equals(tournament.getBrackets())) return;
             Bracket currentSelection = bracketView.getBracketSelector().getValue();
             bracketView.getBracketSelector().getItems().setAll(tournament.getBrackets());
 
-            if (currentSelection != null && tournament.getBrackets().contains(currentSelection)) {
-                bracketView.getBracketSelector().setValue(currentSelection);
+            Bracket replacement = currentSelection == null ? null : tournament.getBrackets().stream()
+                    .filter(bracket -> bracket.getBracketId() == currentSelection.getBracketId())
+                    .findFirst().orElse(null);
+            if (replacement != null) {
+                bracketView.getBracketSelector().setValue(replacement);
             } else if (!tournament.getBrackets().isEmpty()) {
                 bracketView.getBracketSelector().getSelectionModel().selectFirst();
             }
@@ -225,6 +211,82 @@ public class BracketViewController extends ViewController {
         bracketView.getResetZoomButton().setOnAction(e -> bracketView.resetZoom());
     }
 
+    /**
+     * Gets the undo history of a bracket, starting one at its current state on first use.
+     *
+     * @param bracket The bracket.
+     * @return The bracket's {@link ResultHistory}.
+     */
+    private ResultHistory historyFor(Bracket bracket) {
+        return histories.computeIfAbsent(bracket, b -> new ResultHistory(propagationEngine, b));
+    }
+
+    /**
+     * Enables the Undo and Redo buttons according to the history of the selected bracket.
+     *
+     * @param bracket The selected bracket, or {@code null}.
+     */
+    private void bindUndoButtons(Bracket bracket) {
+        bracketView.getUndoButton().disableProperty().unbind();
+        bracketView.getRedoButton().disableProperty().unbind();
+        if (bracket == null) {
+            bracketView.getUndoButton().setDisable(true);
+            bracketView.getRedoButton().setDisable(true);
+            return;
+        }
+        ResultHistory history = historyFor(bracket);
+        bracketView.getUndoButton().disableProperty().bind(history.canUndoProperty().not());
+        bracketView.getRedoButton().disableProperty().bind(history.canRedoProperty().not());
+    }
+
+    /**
+     * Enters what-if mode on the selected bracket, or leaves it and discards the hypothetical results.
+     * Only users who may record results can apply a scenario.
+     */
+    private void toggleWhatIf() {
+        Bracket bracket = bracketView.getBracketSelector().getValue();
+        if (bracketView.getOverlay() != null || bracket == null) {
+            bracketView.setOverlay(null);
+            return;
+        }
+        bracketView.setOverlay(BracketOverlay.of(bracket));
+        UserRole role = authService.getCurrentUser().getRole();
+        bracketView.getApplyScenarioButton().setDisable(
+                role != UserRole.ADMIN && role != UserRole.TOURNAMENT_ORGANIZER && role != UserRole.REFEREE);
+    }
+
+    /**
+     * Makes the clicked team the hypothetical winner of its match, or clears the hypothetical
+     * result if it had already been picked.
+     *
+     * @param match The match whose team was clicked.
+     * @param slot The slot of the clicked team, 1 or 2.
+     */
+    private void pickHypotheticalWinner(Match match, int slot) {
+        BracketOverlay overlay = bracketView.getOverlay();
+        Team team = slot == 1 ? overlay.getTeam1(match) : overlay.getTeam2(match);
+        if (team == null) return;
+        overlay.setWinner(match, overlay.getWinner(match) == team ? null : team);
+    }
+
+    /**
+     * Records the hypothetical results of what-if mode as one undo step and leaves the mode.
+     * If the bracket changed since the scenario was started, the scenario is discarded instead,
+     * as it may no longer fit the bracket.
+     */
+    private void applyScenario() {
+        BracketOverlay overlay = bracketView.getOverlay();
+        if (overlay == null) return;
+        bracketView.setOverlay(null);
+        if (overlay.isStale()) {
+            System.err.println("Bracket " + overlay.getBracket().getBracketName() + " changed during the what-if scenario; scenario discarded.");
+            return;
+        }
+        if (!historyFor(overlay.getBracket()).applyStates(overlay.getChanges()).isEmpty()) {
+            bracketView.renderBracket(overlay.getBracket());
+        }
+    }
+
     /**
      * Handles zoom operations on the bracket visualization.
      * Calculates the new scale and clamps it within the {@link View#MIN_SCALE} and {@link View#MAX_SCALE} bounds.
@@ -241,7 +303,8 @@ public class BracketViewController extends ViewController {
 
     /**
      * Creates and displays a modal pop-up window containing the {@link MatchDetailView} for the given match.
-     * After the pop-up closes, it triggers synchronization with the API and winner propagation.
+     * If a winner was chosen, the result is recorded in the bracket's {@link ResultHistory} and advanced
+     * by the {@link WinnerPropagationEngine}, which also queues the API updates, and the bracket is rendered once.
      *
      * @param match The match to display details for.
      * <p>The structure and implementation of this method were developed with the assistance of an AI model
@@ -257,73 +320,14 @@ public class BracketViewController extends ViewController {
 
         popupStage.showAndWait();
 
-        syncMatchUpdate(match);
-
-        if (match.getWinner() != null) {
-            propagateWinnerToNextMatch(match);
-        }
-
-        bracketView.renderBracket(bracketView.getBracketSelector().getValue());
-    }
-
-    /**
-     * Sends a PATCH request to the API to update the match details (winner, teams, etc.).
-     * This operation runs on a background thread.
-     *
-     * @param match The {@link Match} domain object containing the updated data.
-     * <p>This method's implementation, including logic for database synchronization, received assistance from an AI model
-     *              (Gemini 2.5 Pro).</p>
-     */
-    private void syncMatchUpdate(Match match) {
-        MatchUpdateDTO updateDTO = new MatchUpdateDTO();
-        if (match.getTeam1() != null) updateDTO.setTeam1Id(match.getTeam1().getTeamId());
-        if (match.getTeam2() != null) updateDTO.setTeam2Id(match.getTeam2().getTeamId());
-        if (match.getWinner() != null) updateDTO.setWinnerId(match.getWinner().getTeamId());
-
-        Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                Response<Void> response = api.updateMatch(match.getMatchId(), updateDTO).execute();
-                if (!response.isSuccessful()) {
-                    throw new IOException("Failed to sync match update: " + response.message());
-                }
-                return null;
-            }
-            @Override
-            protected void failed() {
-                System.err.println("API Update Error: " + getException().getMessage());
-            }
-        };
-        new Thread(task).start();
-    }
-
-    /**
-     * Propagates the winner of the current match locally to the subsequent match in the bracket tree,
-     * and then triggers an API sync for the affected next match.
-     *
-     * @param match The match that was just completed and whose winner needs to be propagated.
-     */
-    private void propagateWinnerToNextMatch(Match match) {
+        Team winner = detailView.getSelectedWinner();
         Bracket currentBracket = bracketView.getBracketSelector().getValue();
-        if (currentBracket == null) return;
-
-        for (Round round : currentBracket.getRounds()) {
-            for (Match nextMatch : round.getMatches()) {
-                boolean wasUpdated = false;
-
-                if (match.equals(nextMatch.getSourceMatch1())) {
-                    nextMatch.setTeam1(match.getWinner());
-                    wasUpdated = true;
-                }
-                if (match.equals(nextMatch.getSourceMatch2())) {
-                    nextMatch.setTeam2(match.getWinner());
-                    wasUpdated = true;
-                }
+        if (winner == null || currentBracket == null) {
+            return;
+        }
 
-                if (wasUpdated) {
-                    syncMatchUpdate(nextMatch);
-                }
-            }
+        if (!historyFor(currentBracket).recordResult(match, winner).isEmpty()) {
+            bracketView.renderBracket(currentBracket);
         }
     }
-}
\ No newline at end of file
+}
@@ -3,20 +3,20 @@ package edu.augustana.csc305.project.controller;
 import edu.augustana.csc305.project.model.api.*;
 import edu.augustana.csc305.project.model.domain.*;
 import edu.augustana.csc305.project.service.ApiClient;
+import edu.augustana.csc305.project.service.BracketAssembler;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.MatchUpdateQueue;
+import edu.augustana.csc305.project.service.TaskExecutorService;
+import edu.augustana.csc305.project.service.TournamentSnapshotLoader;
 import edu.augustana.csc305.project.userInterface.GenerateBracketView;
 import edu.augustana.csc305.project.userInterface.View;
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task;
 import org.jetbrains.annotations.NotNull;
 import retrofit2.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Controller for the {@link GenerateBracketView}.
@@ -31,6 +31,7 @@ public class GenerateBracketViewController extends ViewController {
 
     private final GenerateBracketView view;
     private final KronosApi api;
+    private TournamentSnapshotLoader.Handle snapshotLoad;
 
     private static final String ERROR_COLOR_STYLE = "-fx-text-fill: " + View.WARNING_COLOR_HOVER + ";";
     private static final String SUCCESS_COLOR_STYLE = "-fx-text-fill: " + View.ACCENT_COLOR + ";";
@@ -65,47 +66,15 @@ public class GenerateBracketViewController extends ViewController {
     }
 
     /**
-     * Fetches the latest teams, courts, and referees from the API to ensure validation passes before generation.
+     * Fetches the latest teams, courts, referees, and brackets from the API concurrently to ensure
+     * validation passes before generation.
      */
     private void refreshTournamentData() {
-        Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                Response<List<TeamDTO>> teamsRes = api.getTeamsForTournament(tournament.getTournamentId()).execute();
-                if (teamsRes.isSuccessful() && teamsRes.body() != null) {
-                    List<Team> teams = new ArrayList<>();
-                    for (TeamDTO dto : teamsRes.body()) {
-                        Team t = new Team(dto.getName());
-                        t.setTeamId(dto.getTeamId());
-                        teams.add(t);
-                    }
-                    Platform.runLater(() -> tournament.getTeams().setAll(teams));
-                }
-
-                Response<List<CourtDTO>> courtsRes = api.getCourtsForTournament(tournament.getTournamentId()).execute();
-                if (courtsRes.isSuccessful() && courtsRes.body() != null) {
-                    List<Court> courts = new ArrayList<>();
-                    for (CourtDTO dto : courtsRes.body()) {
-                        Court c = new Court(dto.getName(), true);
-                        c.setCourtId(dto.getCourtId());
-                        courts.add(c);
-                    }
-                    Platform.runLater(() -> tournament.getCourts().setAll(courts));
-                }
-
-                Response<List<User>> refsRes = api.getRefereesForTournament(tournament.getTournamentId()).execute();
-                if (refsRes.isSuccessful() && refsRes.body() != null) {
-                    Platform.runLater(() -> tournament.getReferees().setAll(refsRes.body()));
-                }
-
-                return null;
-            }
-            @Override
-            protected void failed() {
-                System.err.println("Failed to refresh tournament data: " + getException().getMessage());
-            }
-        };
-        new Thread(task).start();
+        snapshotLoad = new TournamentSnapshotLoader().loadAll(tournament, snapshot -> {
+            view.getSourceBracketComboBox().setItems(FXCollections.observableArrayList(tournament.getBrackets()));
+            snapshot.getFailures().forEach((resource, error) ->
+                    System.err.println("Failed to refresh tournament " + resource.name().toLowerCase() + ": " + error.getMessage()));
+        });
     }
 
     /**
@@ -115,7 +84,10 @@ public class GenerateBracketViewController extends ViewController {
     @Override
     protected void attachEvents() {
         view.getGenerateButton().setOnAction(e -> handleGenerateBracket());
-        view.getBackButton().setOnAction(e -> appController.showHomeView());
+        view.getBackButton().setOnAction(e -> {
+            if (snapshotLoad != null) snapshotLoad.cancel();
+            appController.showHomeView();
+        });
 
         view.getFormatComboBox().valueProperty().addListener((obs, oldVal, newVal) -> {
             boolean isSingleElim = "Single Elimination".equals(newVal);
@@ -180,17 +152,24 @@ public class GenerateBracketViewController extends ViewController {
         view.getFeedbackLabel().setText("Generating bracket...");
         view.getGenerateButton().setDisable(true);
 
-        Task<Bracket> task = getBracketTask(bracketName, type, sourceBracketId);
-        new Thread(task).start();
+        Task<List<Bracket>> task = getBracketTask(bracketName, type, sourceBracketId);
+        TaskExecutorService.getInstance().execute(task);
     }
 
+    /**
+     * Creates the bracket on the server and reloads the tournament's brackets. The reloaded brackets
+     * are merged into the tournament on the JavaFX thread, so the brackets already in memory keep
+     * their undo history and listeners, and the new bracket is then shown.
+     */
     @NotNull
-    private Task<Bracket> getBracketTask(String bracketName, BracketType type, Integer sourceBracketId) {
+    private Task<List<Bracket>> getBracketTask(String bracketName, BracketType type, Integer sourceBracketId) {
         BracketNewDTO requestDto = new BracketNewDTO(bracketName, type, tournament.getTournamentId(), sourceBracketId);
 
         return new Task<>() {
+            private int createdBracketId = -1;
+
             @Override
-            protected Bracket call() throws Exception {
+            protected List<Bracket> call() throws Exception {
                 Response<BracketDTO> createRes = api.createBracket(requestDto).execute();
                 if (!createRes.isSuccessful()) {
                     String errorMsg = createRes.errorBody() != null ? createRes.errorBody().string() : createRes.message();
@@ -202,22 +181,10 @@ public class GenerateBracketViewController extends ViewController {
                     throw new IOException("Failed to reload brackets after generation.");
                 }
 
-                List<Bracket> updatedBrackets = new ArrayList<>();
-                Bracket newlyCreatedBracket = null;
-
-                for (BracketDTO bDto : listRes.body()) {
-                    Bracket b = mapBracketDTO(bDto);
-                    updatedBrackets.add(b);
-
-                    if (createRes.body() != null && bDto.getBracketId() == createRes.body().getBracketId()) {
-                        newlyCreatedBracket = b;
-                    }
+                if (createRes.body() != null) {
+                    createdBracketId = createRes.body().getBracketId();
                 }
-
-                final List<Bracket> finalBrackets = updatedBrackets;
-                Platform.runLater(() -> tournament.getBrackets().setAll(finalBrackets));
-
-                return newlyCreatedBracket;
+                return BracketAssembler.assembleAll(listRes.body(), tournament.getTeamRegistry());
             }
 
             @Override
@@ -226,7 +193,10 @@ public class GenerateBracketViewController extends ViewController {
                 view.getFeedbackLabel().setStyle(SUCCESS_COLOR_STYLE);
                 view.getFeedbackLabel().setText("Bracket generated successfully!");
 
-                Bracket newBracket = getValue();
+                tournament.mergeBrackets(getValue(), MatchUpdateQueue.getInstance().getPendingMatchIds());
+                Bracket newBracket = tournament.getBrackets().stream()
+                        .filter(b -> b.getBracketId() == createdBracketId)
+                        .findFirst().orElse(null);
                 if (newBracket != null) {
                     appController.showBracketView(newBracket);
                 } else {
@@ -243,72 +213,4 @@ public class GenerateBracketViewController extends ViewController {
             }
         };
     }
-
-    /**
-     * Maps a {@link BracketDTO} fetched from the API to a {@link Bracket} domain object.
-     *
-     * @param bDto The Bracket DTO to map.
-     * @return The resulting {@link Bracket} domain object.
-     */
-    private Bracket mapBracketDTO(BracketDTO bDto) {
-        Bracket bracket = new Bracket(bDto.getName(), bDto.getType());
-        bracket.setBracketId(bDto.getBracketId());
-
-        Map<Integer, Match> matchCache = new HashMap<>();
-
-        for (RoundDTO rDto : bDto.getRounds()) {
-            Round round = new Round();
-            round.setRoundId(rDto.getRoundId());
-
-            for (MatchDTO mDto : rDto.getMatches()) {
-                Match match = mapMatchDTO(mDto, matchCache);
-                round.addMatch(match);
-            }
-            bracket.addRound(round);
-        }
-        return bracket;
-    }
-
-    /**
-     * Recursively maps a {@link MatchDTO} to a {@link Match} domain object.
-     * Uses a cache to ensure shared references for source matches are maintained.
-     *
-     * @param dto The Match DTO to map.
-     * @param cache A map used to store and retrieve already created Match objects by ID.
-     * @return The resulting {@link Match} domain object.
-     */
-    private Match mapMatchDTO(MatchDTO dto, Map<Integer, Match> cache) {
-        if (dto == null) return null;
-        if (cache.containsKey(dto.getMatchId())) return cache.get(dto.getMatchId());
-
-        Match match = new Match();
-        match.setMatchId(dto.getMatchId());
-        match.setComplete(dto.isComplete());
-
-        if (dto.getTeam1() != null) {
-            Team t = new Team(dto.getTeam1().getName());
-            t.setTeamId(dto.getTeam1().getTeamId());
-            match.setTeam1(t);
-        }
-        if (dto.getTeam2() != null) {
-            Team t = new Team(dto.getTeam2().getName());
-            t.setTeamId(dto.getTeam2().getTeamId());
-            match.setTeam2(t);
-        }
-        if (dto.getWinner() != null) {
-            Team t = new Team(dto.getWinner().getName());
-            t.setTeamId(dto.getWinner().getTeamId());
-            match.setWinner(t);
-        }
-
-        if (dto.getSourceMatch1() != null) {
-            match.setSourceMatch1(mapMatchDTO(dto.getSourceMatch1(), cache));
-        }
-        if (dto.getSourceMatch2() != null) {
-            match.setSourceMatch2(mapMatchDTO(dto.getSourceMatch2(), cache));
-        }
-
-        cache.put(dto.getMatchId(), match);
-        return match;
-    }
-}
\ No newline at end of file
+}
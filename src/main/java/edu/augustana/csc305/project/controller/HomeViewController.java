@@ -1,7 +1,15 @@
 package edu.augustana.csc305.project.controller;
 
+import edu.augustana.csc305.project.model.domain.Bracket;
 import edu.augustana.csc305.project.model.domain.Tournament;
+import edu.augustana.csc305.project.service.TournamentSnapshotLoader;
 import edu.augustana.csc305.project.userInterface.HomeView;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+
+import java.util.EnumSet;
 
 /**
  * Controller for the {@link HomeView}.
@@ -10,12 +18,26 @@ import edu.augustana.csc305.project.userInterface.HomeView;
  * and handles UI element visibility based on the current user's role using the
  * {@link AuthenticationService}.</p>
  *
+ * <p>It also shows how far the tournament has progressed, read from the live match counters of
+ * its brackets and refreshed once per bracket revision, so a propagated result updates it once.
+ * The listeners are weak, so the tournament does not keep old home screens alive.</p>
+ *
  * @author Java doc by Gemini 2.5 Flash
  */
 public class HomeViewController extends ViewController {
 
     private final HomeView homeView;
     private final AuthenticationService authService;
+    private final ChangeListener<Number> progressListener = (obs, oldRevision, newRevision) -> updateProgress();
+    private final WeakChangeListener<Number> weakProgressListener = new WeakChangeListener<>(progressListener);
+    private final ListChangeListener<Bracket> bracketsListener = change -> {
+        while (change.next()) {
+            change.getRemoved().forEach(this::unwatchBracket);
+            change.getAddedSubList().forEach(this::watchBracket);
+        }
+        updateProgress();
+    };
+    private TournamentSnapshotLoader.Handle bracketLoad;
 
     /**
      * Constructs a {@code HomeViewController}.
@@ -39,6 +61,50 @@ public class HomeViewController extends ViewController {
      */
     private void initialize() {
         homeView.updateUserAccess(authService.getCurrentUser().getRole());
+
+        tournament.getBrackets().addListener(new WeakListChangeListener<>(bracketsListener));
+        tournament.getBrackets().forEach(this::watchBracket);
+        updateProgress();
+        if (tournament.getBrackets().isEmpty()) {
+            bracketLoad = new TournamentSnapshotLoader().load(tournament,
+                    EnumSet.of(TournamentSnapshotLoader.Resource.BRACKETS), null);
+        }
+    }
+
+    private void watchBracket(Bracket bracket) {
+        bracket.revisionProperty().addListener(weakProgressListener);
+    }
+
+    private void unwatchBracket(Bracket bracket) {
+        bracket.revisionProperty().removeListener(weakProgressListener);
+    }
+
+    /**
+     * Shows the number of played and playable matches over all of the tournament's brackets.
+     */
+    private void updateProgress() {
+        int total = 0;
+        int completed = 0;
+        int playable = 0;
+        for (Bracket bracket : tournament.getBrackets()) {
+            total += bracket.getTotalMatches();
+            completed += bracket.getCompletedMatches();
+            playable += bracket.getPlayableMatches();
+        }
+        if (total == 0) {
+            homeView.getProgressLabel().setText("");
+        } else {
+            homeView.getProgressLabel().setText(String.format("Matches played: %d of %d (%d%%) - %d ready to play",
+                    completed, total, completed * 100 / total, playable));
+        }
+    }
+
+    /**
+     * Cancels the bracket load, if one is still running, before leaving the home screen.
+     */
+    private void navigate(Runnable destination) {
+        if (bracketLoad != null) bracketLoad.cancel();
+        destination.run();
     }
 
     /**
@@ -47,14 +113,14 @@ public class HomeViewController extends ViewController {
      */
     @Override
     protected void attachEvents() {
-        homeView.getManageTeamsButton().setOnAction(e -> appController.showTeamManagementView());
-        homeView.getManageResourcesButton().setOnAction(e -> appController.showManageResourcesView());
-        homeView.getViewBracketsButton().setOnAction(e -> appController.showBracketView());
-        homeView.getGenerateBracketButton().setOnAction(e -> appController.showGenerateBracketView());
-        homeView.getPointsEntryButton().setOnAction(e -> appController.showPointsEntryView());
-        homeView.getSelectionViewButton().setOnAction(e -> appController.showSelectionView());
-        homeView.getLogoutButton().setOnAction(e -> appController.logout());
-
-        homeView.getManageUsersButton().setOnAction(e -> appController.showAdminUserManagementView());
+        homeView.getManageTeamsButton().setOnAction(e -> navigate(appController::showTeamManagementView));
+        homeView.getManageResourcesButton().setOnAction(e -> navigate(appController::showManageResourcesView));
+        homeView.getViewBracketsButton().setOnAction(e -> navigate(appController::showBracketView));
+        homeView.getGenerateBracketButton().setOnAction(e -> navigate(appController::showGenerateBracketView));
+        homeView.getPointsEntryButton().setOnAction(e -> navigate(appController::showPointsEntryView));
+        homeView.getSelectionViewButton().setOnAction(e -> navigate(appController::showSelectionView));
+        homeView.getLogoutButton().setOnAction(e -> navigate(appController::logout));
+
+        homeView.getManageUsersButton().setOnAction(e -> navigate(appController::showAdminUserManagementView));
     }
 }
\ No newline at end of file
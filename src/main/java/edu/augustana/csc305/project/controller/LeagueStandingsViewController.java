@@ -3,38 +3,40 @@ package edu.augustana.csc305.project.controller;
 import edu.augustana.csc305.project.model.api.TeamDTO;
 import edu.augustana.csc305.project.model.domain.League;
 import edu.augustana.csc305.project.model.domain.Team;
-import edu.augustana.csc305.project.service.ApiClient;
-import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.LeagueStandingsAggregator;
+import edu.augustana.csc305.project.service.LeagueStandingsAggregator.LeagueStandings;
 import edu.augustana.csc305.project.userInterface.LeagueStandingsView;
 import javafx.application.Platform;
-import org.jetbrains.annotations.NotNull;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Controller for the {@link LeagueStandingsView}.
  *
- * <p>This controller is responsible for fetching and displaying the current standings
- * for the selected {@link League} by making asynchronous calls to the Kronos API.</p>
+ * <p>This controller is responsible for displaying the current standings for the selected
+ * {@link League}. The standings are added up on the client by the {@link LeagueStandingsAggregator}:
+ * a league that was opened before is shown at once from its cached totals, and then refreshed in
+ * the background, fetching every tournament's standings in parallel.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
  */
 public class LeagueStandingsViewController extends ViewController {
 
     private final LeagueStandingsView view;
-    private final KronosApi api;
+    private final LeagueStandingsAggregator aggregator;
     private final League selectedLeague;
 
+    /**
+     * The revision of the standings on screen, or -1 if none are shown yet.
+     */
+    private long shownRevision = -1;
+
     /**
      * Constructs a LeagueStandingsViewController.
      *
-     * <p>Initializes API services, retrieves the currently active league from the {@link AppController},
-     * and triggers the asynchronous loading of the league standings.</p>
+     * <p>Retrieves the currently active league from the {@link AppController}, shows its cached
+     * standings if there are any, and triggers the asynchronous refresh of the league standings.</p>
      *
      * @param view The {@link LeagueStandingsView} instance to control.
      * @param appController The global {@link AppController} instance.
@@ -42,7 +44,7 @@ public class LeagueStandingsViewController extends ViewController {
     public LeagueStandingsViewController(LeagueStandingsView view, AppController appController) {
         super(view, null, appController);
         this.view = view;
-        this.api = ApiClient.getInstance().getKronosApi();
+        this.aggregator = LeagueStandingsAggregator.getInstance();
         this.selectedLeague = appController.getCurrentLeague();
 
         loadStandings();
@@ -58,8 +60,8 @@ public class LeagueStandingsViewController extends ViewController {
     }
 
     /**
-     * Loads standings data for the selected league asynchronously via the API.
-     * This involves two steps: fetching team names, then fetching points, and combining them.
+     * Loads standings data for the selected league. Cached standings are shown right away; the
+     * refreshed standings replace them once they have arrived, if they differ.
      */
     private void loadStandings() {
         if (selectedLeague == null) {
@@ -70,67 +72,49 @@ public class LeagueStandingsViewController extends ViewController {
 
         view.updateLeagueName(selectedLeague);
 
-        api.getTeams(selectedLeague.getLeagueID()).enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NotNull Call<List<TeamDTO>> call, @NotNull Response<List<TeamDTO>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<TeamDTO> teamDTOs = response.body();
-                    fetchStandingsAndPopulate(teamDTOs);
-                } else {
-                    handleError("Failed to load teams: " + response.message());
-                }
-            }
+        LeagueStandings cached = aggregator.getCached(selectedLeague.getLeagueID());
+        if (cached != null) {
+            showStandings(cached);
+        }
 
-            @Override
-            public void onFailure(@NotNull Call<List<TeamDTO>> call, @NotNull Throwable t) {
-                handleError("Network error loading teams: " + t.getMessage());
+        aggregator.refresh(selectedLeague.getLeagueID()).whenComplete((standings, error) -> {
+            if (error != null) {
+                handleError("Failed to load league standings: " + error.getMessage());
+            } else {
+                Platform.runLater(() -> showStandings(standings));
             }
         });
     }
 
     /**
-     * Fetches the points map for the league and combines it with the provided team DTOs to create
-     * the final standings data structure for the view.
+     * Combines the league's teams with their points and shows them, unless the same revision of
+     * the standings is already on screen. Runs on the JavaFX application thread.
      *
-     * @param teamDTOs A list of {@link TeamDTO} objects containing team ID and name.
+     * @param standings The league standings.
      */
-    private void fetchStandingsAndPopulate(List<TeamDTO> teamDTOs) {
-        api.getLeagueStandings(selectedLeague.getLeagueID()).enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NotNull Call<Map<Integer, Integer>> call, @NotNull Response<Map<Integer, Integer>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    Map<Integer, Integer> pointsMap = response.body();
-                    Map<Team, Integer> finalStandings = new HashMap<>();
-
-                    for (TeamDTO dto : teamDTOs) {
-                        Team team = new Team(dto.getName());
-                        team.setTeamId(dto.getTeamId());
-
-                        Integer points = pointsMap.getOrDefault(dto.getTeamId(), 0);
-                        finalStandings.put(team, points);
-                    }
-
-                    Platform.runLater(() -> view.updateStandings(finalStandings));
-                } else {
-                    handleError("Failed to load standings: " + response.message());
-                }
-            }
-
-            @Override
-            public void onFailure(@NotNull Call<Map<Integer, Integer>> call, @NotNull Throwable t) {
-                handleError("Network error loading standings: " + t.getMessage());
-            }
-        });
+    private void showStandings(LeagueStandings standings) {
+        if (standings.revision() == shownRevision) return;
+        shownRevision = standings.revision();
+
+        Map<Team, Integer> finalStandings = new HashMap<>();
+        for (TeamDTO dto : standings.teams()) {
+            Team team = new Team(dto.getName());
+            team.setTeamId(dto.getTeamId());
+            finalStandings.put(team, standings.points().getOrDefault(dto.getTeamId(), 0));
+        }
+        view.updateStandings(finalStandings);
     }
 
     /**
      * Handles errors during API calls by logging the message and updating the view
-     * on the JavaFX application thread.
+     * on the JavaFX application thread. Standings that are already shown are kept.
      *
      * @param message The error message to log and display.
      */
     private void handleError(String message) {
         System.err.println(message);
-        Platform.runLater(() -> view.updateStandings(null));
+        Platform.runLater(() -> {
+            if (shownRevision < 0) view.updateStandings(null);
+        });
     }
-}
\ No newline at end of file
+}
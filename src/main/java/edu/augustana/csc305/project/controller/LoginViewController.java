@@ -1,6 +1,7 @@
 package edu.augustana.csc305.project.controller;
 
 import edu.augustana.csc305.project.model.domain.User;
+import edu.augustana.csc305.project.service.TaskExecutorService;
 import edu.augustana.csc305.project.userInterface.LoginView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.concurrent.Task;
@@ -85,7 +86,7 @@ public class LoginViewController extends ViewController {
             }
         };
 
-        new Thread(loginTask).start();
+        TaskExecutorService.getInstance().execute(loginTask);
     }
 
     /**
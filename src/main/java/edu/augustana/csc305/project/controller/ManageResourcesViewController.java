@@ -4,21 +4,26 @@ import edu.augustana.csc305.project.model.api.*;
 import edu.augustana.csc305.project.model.domain.*;
 import edu.augustana.csc305.project.service.ApiClient;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.TaskExecutorService;
+import edu.augustana.csc305.project.service.TournamentSnapshotLoader;
 import edu.augustana.csc305.project.userInterface.ManageResourcesView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.concurrent.Task;
 import retrofit2.Response;
 
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Controller for the {@link ManageResourcesView}.
  *
  * <p>Handles the application logic for managing the **Courts** and **Referees** assigned to the current {@link Tournament}
  * via the Kronos API.
- * All data fetching and modification operations are performed asynchronously using JavaFX {@link Task}s.</p>
+ * Courts and referees are loaded concurrently through a {@link TournamentSnapshotLoader}; modification
+ * operations are performed asynchronously using JavaFX {@link Task}s.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
  */
@@ -26,6 +31,8 @@ public class ManageResourcesViewController extends ViewController {
 
     private final ManageResourcesView view;
     private final KronosApi api;
+    private final TournamentSnapshotLoader snapshotLoader;
+    private TournamentSnapshotLoader.Handle snapshotLoad;
 
     /**
      * Constructs a {@code ManageResourcesViewController}.
@@ -38,6 +45,7 @@ public class ManageResourcesViewController extends ViewController {
         super(view, tournament, appController);
         this.view = view;
         this.api = ApiClient.getInstance().getKronosApi();
+        this.snapshotLoader = new TournamentSnapshotLoader(api);
         initialize();
         attachEvents();
     }
@@ -50,69 +58,39 @@ public class ManageResourcesViewController extends ViewController {
     }
 
     /**
-     * Triggers the asynchronous loading of both courts and referees for the current tournament.
+     * Triggers the concurrent loading of both courts and referees for the current tournament.
+     * The lists are updated together once both requests have finished.
      */
     private void loadData() {
-        loadCourts();
-        loadReferees();
+        load(EnumSet.of(TournamentSnapshotLoader.Resource.COURTS, TournamentSnapshotLoader.Resource.REFEREES));
     }
 
     /**
-     * Asynchronously loads the list of {@link Court}s associated with the current tournament from the API.
+     * Asynchronously reloads the list of {@link Court}s associated with the current tournament from the API.
      */
     private void loadCourts() {
-        Task<List<CourtDTO>> task = new Task<>() {
-            @Override
-            protected List<CourtDTO> call() throws Exception {
-                Response<List<CourtDTO>> response = api.getCourtsForTournament(tournament.getTournamentId()).execute();
-                if (!response.isSuccessful() || response.body() == null) throw new IOException("Failed to load courts");
-                return response.body();
-            }
-
-            @Override
-            protected void succeeded() {
-                List<CourtDTO> dtos = getValue();
-                tournament.getCourts().clear();
-                for (CourtDTO dto : dtos) {
-                    Court c = new Court(dto.getName(), true);
-                    c.setCourtId(dto.getCourtId());
-                    tournament.addCourt(c);
-                }
-                view.getCourtsListView().setItems(tournament.getCourts());
-            }
-
-            @Override
-            protected void failed() {
-                System.err.println("Error loading courts: " + getException().getMessage());
-            }
-        };
-        new Thread(task).start();
+        load(EnumSet.of(TournamentSnapshotLoader.Resource.COURTS));
     }
 
     /**
-     * Asynchronously loads the list of {@link User}s (referees) associated with the current tournament from the API.
+     * Asynchronously reloads the list of {@link User}s (referees) associated with the current tournament from the API.
      */
     private void loadReferees() {
-        Task<List<User>> task = new Task<>() {
-            @Override
-            protected List<User> call() throws Exception {
-                Response<List<User>> response = api.getRefereesForTournament(tournament.getTournamentId()).execute();
-                if (!response.isSuccessful() || response.body() == null) throw new IOException("Failed to load referees");
-                return response.body();
-            }
-
-            @Override
-            protected void succeeded() {
-                tournament.getReferees().setAll(getValue());
-                view.getRefereesListView().setItems(tournament.getReferees());
-            }
+        load(EnumSet.of(TournamentSnapshotLoader.Resource.REFEREES));
+    }
 
-            @Override
-            protected void failed() {
-                System.err.println("Error loading referees: " + getException().getMessage());
-            }
-        };
-        new Thread(task).start();
+    /**
+     * Loads the given resources into the tournament and refreshes the list views.
+     *
+     * @param resources The resources to reload.
+     */
+    private void load(Set<TournamentSnapshotLoader.Resource> resources) {
+        snapshotLoad = snapshotLoader.load(tournament, resources, snapshot -> {
+            view.getCourtsListView().setItems(tournament.getCourts());
+            view.getRefereesListView().setItems(tournament.getReferees());
+            snapshot.getFailures().forEach((resource, error) ->
+                    System.err.println("Error loading " + resource.name().toLowerCase() + ": " + error.getMessage()));
+        });
     }
 
     /**
@@ -124,7 +102,10 @@ public class ManageResourcesViewController extends ViewController {
         view.getRemoveCourtButton().setOnAction(e -> handleRemoveCourt());
         view.getAddRefereeButton().setOnAction(e -> handleAddReferee());
         view.getRemoveRefereeButton().setOnAction(e -> handleRemoveReferee());
-        view.getBackButton().setOnAction(e -> appController.showHomeView());
+        view.getBackButton().setOnAction(e -> {
+            if (snapshotLoad != null) snapshotLoad.cancel();
+            appController.showHomeView();
+        });
     }
 
     /**
@@ -163,7 +144,7 @@ public class ManageResourcesViewController extends ViewController {
                 view.getFeedbackLabel().setText("Failed to add court: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -200,7 +181,7 @@ public class ManageResourcesViewController extends ViewController {
                 view.getFeedbackLabel().setText("Failed to remove court: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -266,7 +247,7 @@ public class ManageResourcesViewController extends ViewController {
                 view.getFeedbackLabel().setText(getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -303,6 +284,6 @@ public class ManageResourcesViewController extends ViewController {
                 view.getFeedbackLabel().setText("Failed to remove referee: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 }
\ No newline at end of file
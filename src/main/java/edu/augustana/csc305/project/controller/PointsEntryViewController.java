@@ -1,17 +1,23 @@
 package edu.augustana.csc305.project.controller;
 
-import edu.augustana.csc305.project.model.api.BracketDTO;
-import edu.augustana.csc305.project.model.api.MatchDTO;
-import edu.augustana.csc305.project.model.api.RoundDTO;
 import edu.augustana.csc305.project.model.api.TeamDTO;
 import edu.augustana.csc305.project.model.api.TournamentStandingsPutDTO;
 import edu.augustana.csc305.project.model.domain.*;
 import edu.augustana.csc305.project.service.ApiClient;
 import edu.augustana.csc305.project.service.BracketServices;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.LeagueStandingsAggregator;
+import edu.augustana.csc305.project.service.PointsRulesEngine;
+import edu.augustana.csc305.project.service.PointsScheme;
+import edu.augustana.csc305.project.service.StandingsEngine;
+import edu.augustana.csc305.project.service.TournamentSnapshotLoader;
 import edu.augustana.csc305.project.userInterface.PointsEntryView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import org.jetbrains.annotations.NotNull;
@@ -20,7 +26,7 @@ import retrofit2.Callback;
 import retrofit2.Response;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +37,12 @@ import java.util.stream.Collectors;
  *
  * <p>This controller manages the logic for loading all teams, displaying their current points,
  * allowing manual modification, and calculating points based on a completed single-elimination
- * bracket using {@link BracketServices}.
+ * bracket, scored with the league's {@link PointsScheme}. The selected bracket's standings are
+ * kept up to date by a {@link StandingsEngine} as results arrive, so the current leader is shown
+ * during play and generating points needs no recomputation. The brackets offered are the
+ * tournament's live brackets, loaded and merged through the {@link TournamentSnapshotLoader}, so
+ * results recorded in the bracket view reach the engine. Points can only be generated once the
+ * bracket's live completion counter shows every match played.
  * All data synchronization is handled through the
  * {@link KronosApi} asynchronously.</p>
  *
@@ -49,6 +60,14 @@ public class PointsEntryViewController extends ViewController {
      */
     private final Map<Team, TextField> teamPointsFields = new HashMap<>();
 
+    /**
+     * The live standings of the selected bracket, or {@code null} if no bracket is selected.
+     */
+    private StandingsEngine standings;
+
+    private final ListChangeListener<Bracket> bracketsListener = change -> showEliminationBrackets();
+    private TournamentSnapshotLoader.Handle bracketLoad;
+
     /**
      * Constructs a new PointsEntryViewController.
      *
@@ -70,6 +89,11 @@ public class PointsEntryViewController extends ViewController {
      * Initializes the view by clearing existing data fields and triggering the asynchronous data load.
      */
     private void initialize() {
+        view.getBracketComboBox().getSelectionModel().selectedItemProperty()
+                .addListener((obs, oldBracket, newBracket) -> showBracketProgress(newBracket));
+        currentTournament.getBrackets().addListener(new WeakListChangeListener<>(bracketsListener));
+        showEliminationBrackets();
+
         view.getTeamsList().getChildren().removeIf(node -> GridPane.getRowIndex(node) != null && GridPane.getRowIndex(node) > 0);
         teamPointsFields.clear();
 
@@ -77,33 +101,83 @@ public class PointsEntryViewController extends ViewController {
     }
 
     /**
-     * Fetches Brackets (for generation dropdown), Teams, and Standings from the API.
+     * Binds the progress label and the Generate Points button to the live counters and standings of
+     * the selected bracket, so points can only be generated once every match has a result.
+     *
+     * @param bracket The selected bracket, or {@code null}.
      */
-    private void loadData() {
-        api.getBracketsForTournament(currentTournament.getTournamentId()).enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NotNull Call<List<BracketDTO>> call, @NotNull Response<List<BracketDTO>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Bracket> domainBrackets = mapBracketDTOs(response.body());
-                    List<Bracket> eliminationBrackets = domainBrackets.stream()
-                            .filter(b -> b.getBracketType() == BracketType.SINGLE_ELIMINATION ||
-                                    b.getBracketType() == BracketType.SINGLE_ELIMINATION_SEEDED)
-                            .collect(Collectors.toList());
+    private void showBracketProgress(Bracket bracket) {
+        view.getBracketProgressLabel().textProperty().unbind();
+        view.getGeneratePointsButton().disableProperty().unbind();
+        if (standings != null) {
+            standings.dispose();
+            standings = null;
+        }
+        if (bracket == null) {
+            view.getBracketProgressLabel().setText("");
+            view.getGeneratePointsButton().setDisable(false);
+            return;
+        }
+        StandingsEngine engine = new StandingsEngine(bracket);
+        standings = engine;
+        view.getBracketProgressLabel().textProperty().bind(Bindings.createStringBinding(
+                () -> (bracket.isComplete()
+                        ? "Bracket complete: " + bracket.getTotalMatches() + " matches played."
+                        : bracket.getCompletedMatches() + " of " + bracket.getTotalMatches()
+                                + " matches played (" + Math.round(bracket.getCompletion() * 100) + "%).")
+                        + leaderText(engine),
+                bracket.completedMatchesProperty(), bracket.totalMatchesProperty(), engine.versionProperty()));
+        view.getGeneratePointsButton().disableProperty().bind(bracket.isCompleteProperty().not());
+    }
 
-                    Platform.runLater(() -> {
-                        view.getBracketComboBox().getItems().setAll(eliminationBrackets);
-                        if (!eliminationBrackets.isEmpty()) {
-                            view.getBracketComboBox().getSelectionModel().selectFirst();
-                        }
-                    });
-                }
-            }
+    /**
+     * Describes the current leader of a bracket for the progress label.
+     *
+     * @param engine The bracket's standings.
+     * @return The leader text, or an empty string before any team is placed.
+     */
+    private String leaderText(StandingsEngine engine) {
+        List<Integer> leader = engine.getTopTeamIds(1);
+        if (leader.isEmpty() || engine.getWins(leader.get(0)) == 0) return "";
+        Team team = currentTournament.getTeamRegistry().get(leader.get(0));
+        return team == null ? "" : " Leading: " + team.getTeamName() + ".";
+    }
 
-            @Override
-            public void onFailure(@NotNull Call<List<BracketDTO>> call, @NotNull Throwable t) {
-                Platform.runLater(() -> System.err.println("Failed to load brackets: " + t.getMessage()));
-            }
-        });
+    /**
+     * Shows the tournament's single-elimination brackets in the generation dropdown, keeping the
+     * selected bracket, or the bracket that replaced it, selected.
+     */
+    private void showEliminationBrackets() {
+        List<Bracket> eliminationBrackets = currentTournament.getBrackets().stream()
+                .filter(b -> b.getBracketType() == BracketType.SINGLE_ELIMINATION ||
+                        b.getBracketType() == BracketType.SINGLE_ELIMINATION_SEEDED)
+                .collect(Collectors.toList());
+
+        ComboBox<Bracket> comboBox = view.getBracketComboBox();
+        if (comboBox.getItems().equals(eliminationBrackets)) return;
+        Bracket selected = comboBox.getValue();
+        comboBox.getItems().setAll(eliminationBrackets);
+
+        Bracket replacement = selected == null ? null : eliminationBrackets.stream()
+                .filter(b -> b.getBracketId() == selected.getBracketId())
+                .findFirst().orElse(null);
+        if (replacement != null) {
+            comboBox.setValue(replacement);
+        } else if (!eliminationBrackets.isEmpty()) {
+            comboBox.getSelectionModel().selectFirst();
+        }
+    }
+
+    /**
+     * Fetches Brackets (for generation dropdown), Teams, and Standings from the API. The brackets
+     * are merged into the tournament, which updates the dropdown through its listener.
+     */
+    private void loadData() {
+        bracketLoad = new TournamentSnapshotLoader(api).load(currentTournament,
+                EnumSet.of(TournamentSnapshotLoader.Resource.BRACKETS), snapshot -> {
+                    Throwable error = snapshot.getFailures().get(TournamentSnapshotLoader.Resource.BRACKETS);
+                    if (error != null) System.err.println("Failed to load brackets: " + error.getMessage());
+                });
 
         api.getTeamsForTournament(currentTournament.getTournamentId()).enqueue(new Callback<>() {
             @Override
@@ -113,9 +187,7 @@ public class PointsEntryViewController extends ViewController {
                     List<Team> domainTeams = new ArrayList<>();
 
                     for (TeamDTO dto : teamDTOs) {
-                        Team t = new Team(dto.getName());
-                        t.setTeamId(dto.getTeamId());
-                        domainTeams.add(t);
+                        domainTeams.add(currentTournament.getTeamRegistry().intern(dto.getTeamId(), dto.getName()));
                     }
 
                     loadStandings(domainTeams);
@@ -169,28 +241,17 @@ public class PointsEntryViewController extends ViewController {
     @Override
     protected void attachEvents() {
         view.getSaveButton().setOnAction(e -> savePoints());
-        view.getBackButton().setOnAction(e -> appController.showHomeView());
+        view.getBackButton().setOnAction(e -> {
+            if (bracketLoad != null) bracketLoad.cancel();
+            if (standings != null) {
+                standings.dispose();
+                standings = null;
+            }
+            appController.showHomeView();
+        });
         view.getGeneratePointsButton().setOnAction(e -> generatePoints());
     }
 
-    /**
-     * Helper method to map final rank in a single-elimination bracket to a point value.
-     * Uses explicit percentages relative to the total number of teams.
-     *
-     * @param rank The final rank (e.g., 1st, 2nd, 3rd...).
-     * @param totalTeams The total number of teams involved in the tournament.
-     * @return The point value corresponding to the rank tier.
-     */
-    private int getPointsForRank(int rank, int totalTeams) {
-        if (totalTeams == 0) return 0;
-
-        if (rank > totalTeams) return 0;
-
-        int multiplier = 10;
-
-        return (totalTeams - rank + 1) * multiplier;
-    }
-
     /**
      * Calculates the final standings (points) based on the currently selected completed bracket
      * and updates the text fields in the view, but does not save them to the API.
@@ -204,8 +265,15 @@ public class PointsEntryViewController extends ViewController {
             return;
         }
 
+        if (!selectedBracket.isComplete()) {
+            view.getMessageLabel().setText("ERROR: Points can only be generated once every match in the bracket has been played.");
+            return;
+        }
+
         try {
-            Map<Integer, Integer> standingsById = BracketServices.generatePointsStandings(selectedBracket);
+            Map<Integer, Integer> standingsById = standings != null && standings.getBracket() == selectedBracket
+                    ? standings.getStandings()
+                    : BracketServices.generatePointsStandings(selectedBracket);
 
             int teamsInBracket = standingsById.size();
             if (teamsInBracket == 0) teamsInBracket = 1;
@@ -214,6 +282,7 @@ public class PointsEntryViewController extends ViewController {
             final String successBorder = "-fx-border-color: " + View.ACCENT_COLOR + "; -fx-border-width: 2;";
 
             int finalTeamsInBracket = teamsInBracket;
+            PointsScheme scheme = PointsRulesEngine.getInstance().schemeFor(currentTournament.getLeagueId());
 
             Platform.runLater(() -> {
                 for (Map.Entry<Team, TextField> entry : teamPointsFields.entrySet()) {
@@ -222,7 +291,7 @@ public class PointsEntryViewController extends ViewController {
 
                     int rank = standingsById.getOrDefault(team.getTeamId(), finalTeamsInBracket + 1);
 
-                    int points = getPointsForRank(rank, finalTeamsInBracket);
+                    int points = scheme.pointsFor(rank, finalTeamsInBracket);
 
                     field.setText(String.valueOf(points));
 
@@ -284,6 +353,8 @@ public class PointsEntryViewController extends ViewController {
                 Platform.runLater(() -> {
                     view.getSaveButton().setDisable(false);
                     if (response.isSuccessful()) {
+                        LeagueStandingsAggregator.getInstance().updateTournament(
+                                currentTournament.getLeagueId(), currentTournament.getTournamentId(), newStandings);
                         view.getMessageLabel().setText("SUCCESS: All points have been saved!");
                         view.getMessageLabel().setStyle("-fx-text-fill: " + View.ACCENT_COLOR + "; -fx-font-weight: bold;");
                     } else {
@@ -304,81 +375,4 @@ public class PointsEntryViewController extends ViewController {
         });
     }
 
-    /**
-     * Maps a list of {@link BracketDTO}s from the API to a list of {@link Bracket} domain objects.
-     *
-     * @param dtos The list of DTOs to map.
-     * @return The list of domain objects.
-     */
-    private List<Bracket> mapBracketDTOs(List<BracketDTO> dtos) {
-        List<Bracket> domainBrackets = new ArrayList<>();
-        for (BracketDTO bDto : dtos) {
-            Bracket bracket = new Bracket(bDto.getName(), bDto.getType());
-            bracket.setBracketId(bDto.getBracketId());
-
-            Map<Integer, Match> matchCache = new HashMap<>();
-            List<RoundDTO> sortedRounds = new ArrayList<>(bDto.getRounds());
-            sortedRounds.sort(Comparator.comparingInt(RoundDTO::getRoundId));
-
-            for (RoundDTO rDto : sortedRounds) {
-                Round round = new Round();
-                round.setRoundId(rDto.getRoundId());
-                for (MatchDTO mDto : rDto.getMatches()) {
-                    Match match = mapMatchDTO(mDto, matchCache);
-                    round.addMatch(match);
-                }
-                bracket.addRound(round);
-            }
-            domainBrackets.add(bracket);
-        }
-        return domainBrackets;
-    }
-
-    /**
-     * Recursively maps a single {@link MatchDTO} to a {@link Match} domain object.
-     * Uses a cache to ensure shared references for source matches are maintained.
-     *
-     * @param dto The Match DTO to map.
-     * @param cache A map used to store and retrieve already created Match objects by ID.
-     * @return The resulting {@link Match} domain object.
-     */
-    private Match mapMatchDTO(MatchDTO dto, Map<Integer, Match> cache) {
-        if (dto == null) return null;
-
-        Match match;
-        if (cache.containsKey(dto.getMatchId())) {
-            match = cache.get(dto.getMatchId());
-        } else {
-            match = new Match();
-            match.setMatchId(dto.getMatchId());
-            cache.put(dto.getMatchId(), match);
-        }
-
-        match.setComplete(dto.isComplete());
-
-        if (dto.getTeam1() != null) {
-            Team t = new Team(dto.getTeam1().getName());
-            t.setTeamId(dto.getTeam1().getTeamId());
-            match.setTeam1(t);
-        }
-        if (dto.getTeam2() != null) {
-            Team t = new Team(dto.getTeam2().getName());
-            t.setTeamId(dto.getTeam2().getTeamId());
-            match.setTeam2(t);
-        }
-        if (dto.getWinner() != null) {
-            Team t = new Team(dto.getWinner().getName());
-            t.setTeamId(dto.getWinner().getTeamId());
-            match.setWinner(t);
-        }
-
-        if (dto.getSourceMatch1() != null) {
-            match.setSourceMatch1(mapMatchDTO(dto.getSourceMatch1(), cache));
-        }
-        if (dto.getSourceMatch2() != null) {
-            match.setSourceMatch2(mapMatchDTO(dto.getSourceMatch2(), cache));
-        }
-
-        return match;
-    }
 }
\ No newline at end of file
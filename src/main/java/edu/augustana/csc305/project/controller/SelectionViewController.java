@@ -9,6 +9,7 @@ import edu.augustana.csc305.project.model.domain.Tournament;
 import edu.augustana.csc305.project.model.domain.User;
 import edu.augustana.csc305.project.service.ApiClient;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.TaskExecutorService;
 import edu.augustana.csc305.project.userInterface.SelectionView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.beans.value.ChangeListener;
@@ -147,7 +148,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Error loading leagues: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -184,7 +185,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Error loading tournaments: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -223,7 +224,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Creation failed: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -263,7 +264,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Creation failed: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -297,7 +298,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Delete failed: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -330,7 +331,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Delete failed: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -372,7 +373,7 @@ public class SelectionViewController extends ViewController {
                 view.getFeedbackLabel().setText("Error opening tournament: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
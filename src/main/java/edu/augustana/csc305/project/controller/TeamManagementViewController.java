@@ -5,6 +5,7 @@ import edu.augustana.csc305.project.model.api.TeamNewDTO;
 import edu.augustana.csc305.project.model.domain.Tournament;
 import edu.augustana.csc305.project.service.ApiClient;
 import edu.augustana.csc305.project.service.KronosApi;
+import edu.augustana.csc305.project.service.TaskExecutorService;
 import edu.augustana.csc305.project.userInterface.TeamManagementView;
 import edu.augustana.csc305.project.userInterface.View;
 import javafx.concurrent.Task;
@@ -109,7 +110,7 @@ public class TeamManagementViewController extends ViewController {
                 view.getFeedbackLabel().setText("Failed to add team: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -167,7 +168,7 @@ public class TeamManagementViewController extends ViewController {
                 view.getFeedbackLabel().setText("Failed to delete: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 
     /**
@@ -203,6 +204,6 @@ public class TeamManagementViewController extends ViewController {
                 view.getFeedbackLabel().setText("Error loading teams: " + getException().getMessage());
             }
         };
-        new Thread(task).start();
+        TaskExecutorService.getInstance().execute(task);
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package edu.augustana.csc305.project.model.api;
+
+import edu.augustana.csc305.project.model.domain.BracketType;
+import edu.augustana.csc305.project.model.domain.User;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for reading a Bracket in the flat (normalized) format.
+ * Teams, courts and referees are listed once per bracket and matches refer to them,
+ * and to their source matches, by ID. The payload therefore grows linearly with the
+ * number of matches, whereas {@link BracketDTO} embeds each match's whole subtree.
+ */
+public class BracketFlatDTO {
+    private int bracketId;
+    private String name;
+    private BracketType type;
+    private List<TeamDTO> teams;
+    private List<CourtDTO> courts;
+    private List<User> referees;
+    private List<RoundFlatDTO> rounds;
+
+    public int getBracketId() { return bracketId; }
+    public String getName() { return name; }
+    public BracketType getType() { return type; }
+    public List<TeamDTO> getTeams() { return teams; }
+    public List<CourtDTO> getCourts() { return courts; }
+    public List<User> getReferees() { return referees; }
+    public List<RoundFlatDTO> getRounds() { return rounds; }
+}
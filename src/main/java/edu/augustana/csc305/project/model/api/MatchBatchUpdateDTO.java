@@ -0,0 +1,33 @@
+package edu.augustana.csc305.project.model.api;
+
+/**
+ * Data Transfer Object for one entry of a bulk match update (PATCH {@code api/matches}).
+ * Carries the same optional fields as {@link MatchUpdateDTO}, plus the ID of the match being updated.
+ */
+public class MatchBatchUpdateDTO extends MatchUpdateDTO {
+    private int matchId;
+
+    /**
+     * Default constructor required for Retrofit/Gson.
+     */
+    public MatchBatchUpdateDTO() {}
+
+    /**
+     * Constructs a bulk entry from a single-match update.
+     *
+     * @param matchId The ID of the match to update.
+     * @param update The fields to change on that match.
+     */
+    public MatchBatchUpdateDTO(int matchId, MatchUpdateDTO update) {
+        super(update.getTeam1Id(), update.getTeam2Id(), update.getWinnerId());
+        setScore1(update.getScore1());
+        setScore2(update.getScore2());
+        setClearTeam1(update.getClearTeam1());
+        setClearTeam2(update.getClearTeam2());
+        setClearWinner(update.getClearWinner());
+        this.matchId = matchId;
+    }
+
+    public int getMatchId() { return matchId; }
+    public void setMatchId(int matchId) { this.matchId = matchId; }
+}
@@ -0,0 +1,33 @@
+package edu.augustana.csc305.project.model.api;
+
+/**
+ * Data Transfer Object for reading a Match in the flat bracket format.
+ * Unlike {@link MatchDTO}, teams, court, referee and source matches are referenced by ID
+ * instead of being embedded, so each match appears exactly once in the payload.
+ * Absent references are {@code null}.
+ */
+public class MatchFlatDTO {
+    private int matchId;
+    private Integer team1Id;
+    private Integer team2Id;
+    private Integer winnerId;
+    private boolean complete;
+
+    private Integer courtId;
+    private Integer refereeId;
+
+    private Integer sourceMatch1Id;
+    private Integer sourceMatch2Id;
+
+    public int getMatchId() { return matchId; }
+    public Integer getTeam1Id() { return team1Id; }
+    public Integer getTeam2Id() { return team2Id; }
+    public Integer getWinnerId() { return winnerId; }
+    public boolean isComplete() { return complete; }
+
+    public Integer getCourtId() { return courtId; }
+    public Integer getRefereeId() { return refereeId; }
+
+    public Integer getSourceMatch1Id() { return sourceMatch1Id; }
+    public Integer getSourceMatch2Id() { return sourceMatch2Id; }
+}
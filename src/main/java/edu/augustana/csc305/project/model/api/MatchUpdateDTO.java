@@ -3,6 +3,8 @@ package edu.augustana.csc305.project.model.api;
 /**
  * Data Transfer Object for updating match results and details via the API (e.g., PATCH request).
  * Uses {@code Integer} wrappers to allow null values for optional fields.
+ * A null field is left unchanged by the server, so a team or winner is removed with the matching
+ * {@code clear} flag instead.
  *
  * @author Java doc by Gemini 2.5 Flash
  */
@@ -12,6 +14,9 @@ public class MatchUpdateDTO {
     private Integer winnerId;
     private Integer score1;
     private Integer score2;
+    private Boolean clearTeam1;
+    private Boolean clearTeam2;
+    private Boolean clearWinner;
 
     /**
      * Default constructor required for Retrofit/Gson when fields are set via setters.
@@ -39,4 +44,19 @@ public class MatchUpdateDTO {
 
     public Integer getWinnerId() { return winnerId; }
     public void setWinnerId(Integer winnerId) { this.winnerId = winnerId; }
+
+    public Integer getScore1() { return score1; }
+    public void setScore1(Integer score1) { this.score1 = score1; }
+
+    public Integer getScore2() { return score2; }
+    public void setScore2(Integer score2) { this.score2 = score2; }
+
+    public Boolean getClearTeam1() { return clearTeam1; }
+    public void setClearTeam1(Boolean clearTeam1) { this.clearTeam1 = clearTeam1; }
+
+    public Boolean getClearTeam2() { return clearTeam2; }
+    public void setClearTeam2(Boolean clearTeam2) { this.clearTeam2 = clearTeam2; }
+
+    public Boolean getClearWinner() { return clearWinner; }
+    public void setClearWinner(Boolean clearWinner) { this.clearWinner = clearWinner; }
 }
\ No newline at end of file
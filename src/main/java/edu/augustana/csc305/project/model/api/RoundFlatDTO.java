@@ -0,0 +1,15 @@
+package edu.augustana.csc305.project.model.api;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for reading a Round in the flat bracket format.
+ * Contains the {@link MatchFlatDTO}s belonging to that round.
+ */
+public class RoundFlatDTO {
+    private int roundId;
+    private List<MatchFlatDTO> matches;
+
+    public int getRoundId() { return roundId; }
+    public List<MatchFlatDTO> getMatches() { return matches; }
+}
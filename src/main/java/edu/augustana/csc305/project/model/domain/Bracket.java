@@ -1,12 +1,29 @@
 package edu.augustana.csc305.project.model.domain;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Represents a single tournament bracket in the system.
  * <p>
@@ -14,15 +31,55 @@ import javafx.collections.ObservableList;
  * and a list of associated rounds. The class uses JavaFX properties to allow
  * seamless data binding with the user interface.
  * This Classes JavaDoc was made with Gemini 2.5 Pro.
+ * <p>
+ * The bracket also keeps a reverse index from every match to the matches that take its winner
+ * (see {@link #getDownstream(Match)}), so advancing a result does not have to scan the bracket.
+ * The index follows changes to the rounds, their matches and each match's source matches.
+ * <p>
+ * Progress is kept the same way: the bracket adds up the completed and playable match counters of
+ * its {@link Round}s as they change, so completion and {@link #isComplete()} cost nothing to read.
+ * Its {@link #revisionProperty() revision} goes up with the revision of any of its rounds, once per
+ * {@link ModelTransaction}.
  */
 public class Bracket {
 
     private final ObservableList<Round> rounds;
     private final StringProperty bracketName;
-    private final BooleanProperty isComplete;
+    private final ReadOnlyBooleanWrapper isComplete = new ReadOnlyBooleanWrapper(this, "complete");
+    private final ReadOnlyIntegerWrapper totalMatches = new ReadOnlyIntegerWrapper(this, "totalMatches");
+    private final ReadOnlyIntegerWrapper completedMatches = new ReadOnlyIntegerWrapper(this, "completedMatches");
+    private final ReadOnlyIntegerWrapper playableMatches = new ReadOnlyIntegerWrapper(this, "playableMatches");
+    private final ReadOnlyIntegerWrapper completedRounds = new ReadOnlyIntegerWrapper(this, "completedRounds");
+    private final ReadOnlyDoubleWrapper completion = new ReadOnlyDoubleWrapper(this, "completion");
+    private final ModelRevision revision = new ModelRevision(this);
     private final BracketType bracketType;
     private int bracketId;
 
+    /**
+     * A match slot that is filled by the winner of another match.
+     *
+     * @param match The downstream match.
+     * @param slot Which team of the downstream match the winner becomes: 1 or 2.
+     */
+    public record DownstreamSlot(Match match, int slot) {}
+
+    private final Map<Match, List<DownstreamSlot>> downstream = new IdentityHashMap<>();
+    private final Map<Match, SourceWatcher> watchedMatches = new IdentityHashMap<>();
+    private final ListChangeListener<Match> matchesListener = change -> {
+        while (change.next()) {
+            change.getRemoved().forEach(this::unindexMatch);
+            change.getAddedSubList().forEach(this::indexMatch);
+        }
+    };
+    private final ChangeListener<Number> totalListener = (obs, oldCount, newCount) ->
+            addProgress(totalMatches, newCount.intValue() - oldCount.intValue());
+    private final ChangeListener<Number> completedListener = (obs, oldCount, newCount) ->
+            addProgress(completedMatches, newCount.intValue() - oldCount.intValue());
+    private final ChangeListener<Number> playableListener = (obs, oldCount, newCount) ->
+            addProgress(playableMatches, newCount.intValue() - oldCount.intValue());
+    private final ChangeListener<Boolean> roundCompleteListener = (obs, wasComplete, nowComplete) ->
+            addProgress(completedRounds, nowComplete ? 1 : -1);
+
     /**
      * Constructs a new {@code Bracket} with the specified name and type.
      * The bracket is initialized as incomplete and without any rounds.
@@ -32,9 +89,26 @@ public class Bracket {
      */
     public Bracket(String bracketName, BracketType bracketType) {
         this.bracketName = new SimpleStringProperty(bracketName);
-        this.isComplete = new SimpleBooleanProperty(false);
         this.rounds = FXCollections.observableArrayList();
         this.bracketType = bracketType;
+        this.rounds.addListener((ListChangeListener<Round>) change -> {
+            while (change.next()) {
+                for (Round round : change.getRemoved()) {
+                    round.getMatches().removeListener(matchesListener);
+                    round.getMatches().forEach(this::unindexMatch);
+                    untrackProgress(round);
+                    round.revisionProperty().removeListener(revision.propertyListener);
+                }
+                for (Round round : change.getAddedSubList()) {
+                    round.getMatches().addListener(matchesListener);
+                    round.getMatches().forEach(this::indexMatch);
+                    trackProgress(round);
+                    round.revisionProperty().addListener(revision.propertyListener);
+                }
+            }
+        });
+        this.rounds.addListener(revision.collectionListener);
+        this.bracketName.addListener(revision.propertyListener);
     }
 
     /**
@@ -93,7 +167,7 @@ public class Bracket {
     }
 
     /**
-     * Checks if the bracket is complete.
+     * Checks if the bracket is complete, meaning every match in it has a result.
      *
      * @return {@code true} if complete, {@code false} otherwise.
      */
@@ -102,21 +176,91 @@ public class Bracket {
     }
 
     /**
-     * Sets the completion status of the bracket.
+     * Returns the property representing the bracket's completion status. It is kept up to date
+     * from the match results and cannot be set directly.
+     *
+     * @return The read-only property for the completion status.
+     */
+    public ReadOnlyBooleanProperty isCompleteProperty() {
+        return isComplete.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of matches in all rounds of the bracket.
+     *
+     * @return The match count.
+     */
+    public int getTotalMatches() {
+        return totalMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty totalMatchesProperty() {
+        return totalMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of matches in the bracket that have a result.
+     *
+     * @return The completed match count.
+     */
+    public int getCompletedMatches() {
+        return completedMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty completedMatchesProperty() {
+        return completedMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of matches that can be played now: both teams are known and there is no result yet.
+     *
+     * @return The playable match count.
+     */
+    public int getPlayableMatches() {
+        return playableMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty playableMatchesProperty() {
+        return playableMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of rounds in which every match has a result.
      *
-     * @param complete The new completion status.
+     * @return The completed round count.
      */
-    public void setComplete(boolean complete) {
-        this.isComplete.set(complete);
+    public int getCompletedRounds() {
+        return completedRounds.get();
+    }
+
+    public ReadOnlyIntegerProperty completedRoundsProperty() {
+        return completedRounds.getReadOnlyProperty();
     }
 
     /**
-     * Returns the property representing the bracket's completion status.
+     * Gets the fraction of the bracket's matches that are completed.
      *
-     * @return The {@code BooleanProperty} for the completion status.
+     * @return A value between 0 and 1; 0 for a bracket without matches.
      */
-    public BooleanProperty isCompleteProperty() {
-        return isComplete;
+    public double getCompletion() {
+        return completion.get();
+    }
+
+    public ReadOnlyDoubleProperty completionProperty() {
+        return completion.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the revision of the bracket.
+     *
+     * @return A number that goes up whenever the bracket, its rounds or their matches change.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public ReadOnlyLongProperty revisionProperty() {
+        return revision.property();
     }
 
     /**
@@ -147,4 +291,120 @@ public class Bracket {
             this.rounds.add(round);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the slots that the winner of a match advances into.
+     *
+     * @param source A match in this bracket.
+     * @return The downstream slots, usually zero or one; never {@code null}.
+     */
+    public List<DownstreamSlot> getDownstream(Match source) {
+        List<DownstreamSlot> slots = downstream.get(source);
+        return slots == null ? Collections.emptyList() : Collections.unmodifiableList(slots);
+    }
+
+    /**
+     * Gets every match whose teams depend, directly or through later rounds, on the result of a match.
+     *
+     * @param source A match in this bracket.
+     * @return The affected matches, nearest first; empty for the final.
+     */
+    public Set<Match> getAffectedMatches(Match source) {
+        Set<Match> affected = new LinkedHashSet<>();
+        Deque<Match> work = new ArrayDeque<>();
+        work.add(source);
+        while (!work.isEmpty()) {
+            for (DownstreamSlot slot : getDownstream(work.poll())) {
+                if (affected.add(slot.match())) {
+                    work.add(slot.match());
+                }
+            }
+        }
+        return affected;
+    }
+
+    private void trackProgress(Round round) {
+        round.totalMatchesProperty().addListener(totalListener);
+        round.completedMatchesProperty().addListener(completedListener);
+        round.playableMatchesProperty().addListener(playableListener);
+        round.completeProperty().addListener(roundCompleteListener);
+        addProgress(totalMatches, round.getTotalMatches());
+        addProgress(completedMatches, round.getCompletedMatches());
+        addProgress(playableMatches, round.getPlayableMatches());
+        if (round.isComplete()) addProgress(completedRounds, 1);
+    }
+
+    private void untrackProgress(Round round) {
+        round.totalMatchesProperty().removeListener(totalListener);
+        round.completedMatchesProperty().removeListener(completedListener);
+        round.playableMatchesProperty().removeListener(playableListener);
+        round.completeProperty().removeListener(roundCompleteListener);
+        addProgress(totalMatches, -round.getTotalMatches());
+        addProgress(completedMatches, -round.getCompletedMatches());
+        addProgress(playableMatches, -round.getPlayableMatches());
+        if (round.isComplete()) addProgress(completedRounds, -1);
+    }
+
+    private void addProgress(ReadOnlyIntegerWrapper counter, int delta) {
+        if (delta == 0) return;
+        counter.set(counter.get() + delta);
+        int total = totalMatches.get();
+        int completed = completedMatches.get();
+        completion.set(total == 0 ? 0 : (double) completed / total);
+        isComplete.set(total > 0 && completed == total);
+    }
+
+    /**
+     * Watches a match's source matches and records it as downstream of them.
+     */
+    private void indexMatch(Match match) {
+        if (watchedMatches.containsKey(match)) return;
+        SourceWatcher watcher = new SourceWatcher(match);
+        watchedMatches.put(match, watcher);
+        match.sourceMatch1Property().addListener(watcher.slot1);
+        match.sourceMatch2Property().addListener(watcher.slot2);
+        link(match.getSourceMatch1(), match, 1);
+        link(match.getSourceMatch2(), match, 2);
+    }
+
+    private void unindexMatch(Match match) {
+        SourceWatcher watcher = watchedMatches.remove(match);
+        if (watcher == null) return;
+        match.sourceMatch1Property().removeListener(watcher.slot1);
+        match.sourceMatch2Property().removeListener(watcher.slot2);
+        unlink(match.getSourceMatch1(), match, 1);
+        unlink(match.getSourceMatch2(), match, 2);
+    }
+
+    private void link(Match source, Match target, int slot) {
+        if (source == null) return;
+        downstream.computeIfAbsent(source, m -> new ArrayList<>(1)).add(new DownstreamSlot(target, slot));
+    }
+
+    private void unlink(Match source, Match target, int slot) {
+        if (source == null) return;
+        List<DownstreamSlot> slots = downstream.get(source);
+        if (slots == null) return;
+        slots.removeIf(s -> s.match() == target && s.slot() == slot);
+        if (slots.isEmpty()) downstream.remove(source);
+    }
+
+    /**
+     * Moves a match's index entries when one of its source matches is replaced.
+     */
+    private final class SourceWatcher {
+        private final ChangeListener<Match> slot1;
+        private final ChangeListener<Match> slot2;
+
+        private SourceWatcher(Match match) {
+            this.slot1 = (obs, oldSource, newSource) -> {
+                unlink(oldSource, match, 1);
+                link(newSource, match, 1);
+            };
+            this.slot2 = (obs, oldSource, newSource) -> {
+                unlink(oldSource, match, 2);
+                link(newSource, match, 2);
+            };
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package edu.augustana.csc305.project.model.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The differences between a bracket shown in the application and a freshly loaded copy of it.
+ *
+ * <p>Matches are paired by match ID. If both brackets have the same shape (the same rounds holding
+ * the same matches, fed by the same source matches) the fresh copy can be
+ * {@link #apply() applied} to the live bracket in place: only the fields that differ are set, so
+ * the live {@code Bracket}, {@code Round} and {@code Match} objects, and everything bound to them,
+ * survive a reload. Otherwise the diff is not {@link #isPatchable() patchable} and the live
+ * bracket has to be replaced.</p>
+ *
+ * <p>Matches can be left out of the diff, for example those whose local results have not reached
+ * the server yet: they still have to match in shape, but their fields are never copied from the
+ * fresh copy.</p>
+ *
+ * <p>Teams are compared by identity, as both copies intern them in the tournament's
+ * {@link TeamRegistry}. Courts and referees are compared by ID and name, since every load
+ * creates new instances of them.</p>
+ */
+public final class BracketDiff {
+
+    private final Bracket live;
+    private final Bracket fresh;
+    private final boolean patchable;
+    private final Map<Match, Match> changed;
+
+    private BracketDiff(Bracket live, Bracket fresh, boolean patchable, Map<Match, Match> changed) {
+        this.live = live;
+        this.fresh = fresh;
+        this.patchable = patchable;
+        this.changed = changed;
+    }
+
+    /**
+     * Compares a live bracket with a freshly loaded copy of it. Neither bracket is modified.
+     *
+     * @param live The bracket currently in the model.
+     * @param fresh The newly loaded bracket with the same bracket ID.
+     * @return The differences between them.
+     */
+    public static BracketDiff of(Bracket live, Bracket fresh) {
+        return of(live, fresh, Set.of());
+    }
+
+    /**
+     * Compares a live bracket with a freshly loaded copy of it, keeping the live fields of some
+     * matches. Neither bracket is modified.
+     *
+     * @param live The bracket currently in the model.
+     * @param fresh The newly loaded bracket with the same bracket ID.
+     * @param keptMatchIds The IDs of the matches whose live fields are kept.
+     * @return The differences between them, leaving out the kept matches.
+     */
+    public static BracketDiff of(Bracket live, Bracket fresh, Set<Integer> keptMatchIds) {
+        List<Round> liveRounds = live.getRounds();
+        List<Round> freshRounds = fresh.getRounds();
+        if (live.getBracketId() != fresh.getBracketId() || live.getBracketType() != fresh.getBracketType()
+                || liveRounds.size() != freshRounds.size()) {
+            return new BracketDiff(live, fresh, false, Map.of());
+        }
+
+        Map<Integer, Match> liveById = new HashMap<>();
+        Map<Integer, Integer> liveRoundById = new HashMap<>();
+        for (int r = 0; r < liveRounds.size(); r++) {
+            for (Match match : liveRounds.get(r).getMatches()) {
+                liveById.put(match.getMatchId(), match);
+                liveRoundById.put(match.getMatchId(), r);
+            }
+        }
+
+        Map<Match, Match> changed = new LinkedHashMap<>();
+        for (int r = 0; r < freshRounds.size(); r++) {
+            List<Match> freshMatches = freshRounds.get(r).getMatches();
+            if (freshMatches.size() != liveRounds.get(r).getMatches().size()) {
+                return new BracketDiff(live, fresh, false, Map.of());
+            }
+            for (Match freshMatch : freshMatches) {
+                Match liveMatch = liveById.get(freshMatch.getMatchId());
+                if (liveMatch == null || liveRoundById.get(freshMatch.getMatchId()) != r
+                        || idOf(liveMatch.getSourceMatch1()) != idOf(freshMatch.getSourceMatch1())
+                        || idOf(liveMatch.getSourceMatch2()) != idOf(freshMatch.getSourceMatch2())) {
+                    return new BracketDiff(live, fresh, false, Map.of());
+                }
+                if (!keptMatchIds.contains(liveMatch.getMatchId()) && differs(liveMatch, freshMatch)) {
+                    changed.put(liveMatch, freshMatch);
+                }
+            }
+        }
+        return new BracketDiff(live, fresh, true, changed);
+    }
+
+    /**
+     * Checks if the fresh copy can be applied to the live bracket in place.
+     *
+     * @return {@code false} if the shape of the bracket changed and it has to be replaced.
+     */
+    public boolean isPatchable() {
+        return patchable;
+    }
+
+    /**
+     * Checks if applying the fresh copy would change anything.
+     *
+     * @return {@code true} if the bracket name or at least one match differs.
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty() && Objects.equals(live.getBracketName(), fresh.getBracketName());
+    }
+
+    /**
+     * Gets the live matches whose teams, result, court or referee differ from the fresh copy.
+     *
+     * @return The changed matches in round order; empty if the diff is not patchable.
+     */
+    public List<Match> getChangedMatches() {
+        return Collections.unmodifiableList(new ArrayList<>(changed.keySet()));
+    }
+
+    /**
+     * Copies the differing fields of the fresh copy onto the live bracket in one
+     * {@link ModelTransaction}.
+     *
+     * @return The live matches that changed, in round order.
+     * @throws IllegalStateException If the diff is not patchable.
+     */
+    public List<Match> apply() {
+        if (!patchable) {
+            throw new IllegalStateException("Bracket " + live.getBracketId() + " changed shape and cannot be patched");
+        }
+        ModelTransaction.run(() -> {
+            if (!Objects.equals(live.getBracketName(), fresh.getBracketName())) {
+                live.setBracketName(fresh.getBracketName());
+            }
+            for (Map.Entry<Match, Match> entry : changed.entrySet()) {
+                Match target = entry.getKey();
+                Match source = entry.getValue();
+                if (target.getTeam1() != source.getTeam1()) target.setTeam1(source.getTeam1());
+                if (target.getTeam2() != source.getTeam2()) target.setTeam2(source.getTeam2());
+                if (target.getWinner() != source.getWinner()) target.setWinner(source.getWinner());
+                if (target.isComplete() != source.isComplete()) target.setComplete(source.isComplete());
+                if (!sameCourt(target.getCourt(), source.getCourt())) target.setCourt(source.getCourt());
+                if (!sameReferee(target.getReferee(), source.getReferee())) target.setReferee(source.getReferee());
+            }
+        });
+        return getChangedMatches();
+    }
+
+    private static boolean differs(Match live, Match fresh) {
+        return live.getTeam1() != fresh.getTeam1() || live.getTeam2() != fresh.getTeam2()
+                || live.getWinner() != fresh.getWinner() || live.isComplete() != fresh.isComplete()
+                || !sameCourt(live.getCourt(), fresh.getCourt()) || !sameReferee(live.getReferee(), fresh.getReferee());
+    }
+
+    private static boolean sameCourt(Court a, Court b) {
+        if (a == null || b == null) return a == b;
+        return a.getCourtId() == b.getCourtId() && Objects.equals(a.getCourtName(), b.getCourtName());
+    }
+
+    private static boolean sameReferee(User a, User b) {
+        if (a == null || b == null) return a == b;
+        return a.getUserId() == b.getUserId() && Objects.equals(a.getUsername(), b.getUsername());
+    }
+
+    private static int idOf(Match match) {
+        return match == null ? BracketGraph.NONE : match.getMatchId();
+    }
+}
@@ -0,0 +1,360 @@
+package edu.augustana.csc305.project.model.domain;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * A compact, JavaFX-free copy of a bracket for computation.
+ *
+ * <p>Matches are numbered densely in round order, and the matches of round {@code r} are
+ * {@code roundStart(r)} up to {@code roundStart(r + 1)}. Teams are numbered densely as well; the
+ * team, winner and source-match references of each match are plain {@code int} indices, with
+ * {@link #NONE} for an empty slot, and completion is a {@link BitSet}. The reverse edges (which
+ * slot a match's winner moves into) are kept in the same compressed form.</p>
+ *
+ * <p>Ranking, propagation and what-if simulation work on this form without touching observable
+ * properties or allocating per match. {@link #from(Bracket)} and {@link #applyTo(Bracket)} convert
+ * to and from the observable model in one pass each; teams are identified by their team ID, as in
+ * the API.</p>
+ */
+public final class BracketGraph {
+
+    /**
+     * Marks an empty team, winner or source slot.
+     */
+    public static final int NONE = -1;
+
+    private final int[] roundStart;
+    private final int[] roundOf;
+    private final int[] matchIds;
+    private final int[] teamIds;
+    private final int[] team1;
+    private final int[] team2;
+    private final int[] winner;
+    private final int[] source1;
+    private final int[] source2;
+    private final BitSet complete;
+
+    private final int[] downstreamStart;
+    private final int[] downstreamMatch;
+    private final byte[] downstreamSlot;
+
+    /**
+     * Work queue of {@link #setWinner(int, int)}, allocated on first use and then reused, so
+     * recording results allocates nothing. Never shared between copies.
+     */
+    private int[] work;
+
+    private BracketGraph(int[] roundStart, int[] matchIds, int[] teamIds, int[] team1, int[] team2, int[] winner,
+                         int[] source1, int[] source2, BitSet complete) {
+        this.roundStart = roundStart;
+        this.matchIds = matchIds;
+        this.teamIds = teamIds;
+        this.team1 = team1;
+        this.team2 = team2;
+        this.winner = winner;
+        this.source1 = source1;
+        this.source2 = source2;
+        this.complete = complete;
+
+        int matchCount = matchIds.length;
+        this.roundOf = new int[matchCount];
+        for (int r = 0; r + 1 < roundStart.length; r++) {
+            Arrays.fill(roundOf, roundStart[r], roundStart[r + 1], r);
+        }
+
+        this.downstreamStart = new int[matchCount + 1];
+        for (int m = 0; m < matchCount; m++) {
+            if (source1[m] != NONE) downstreamStart[source1[m] + 1]++;
+            if (source2[m] != NONE) downstreamStart[source2[m] + 1]++;
+        }
+        for (int m = 0; m < matchCount; m++) {
+            downstreamStart[m + 1] += downstreamStart[m];
+        }
+        this.downstreamMatch = new int[downstreamStart[matchCount]];
+        this.downstreamSlot = new byte[downstreamStart[matchCount]];
+        int[] fill = Arrays.copyOf(downstreamStart, matchCount);
+        for (int m = 0; m < matchCount; m++) {
+            if (source1[m] != NONE) {
+                downstreamMatch[fill[source1[m]]] = m;
+                downstreamSlot[fill[source1[m]]++] = 1;
+            }
+            if (source2[m] != NONE) {
+                downstreamMatch[fill[source2[m]]] = m;
+                downstreamSlot[fill[source2[m]]++] = 2;
+            }
+        }
+    }
+
+    /**
+     * Builds the compact form of a bracket.
+     *
+     * @param bracket The bracket to copy.
+     * @return A graph with the bracket's current teams, results and source links.
+     */
+    public static BracketGraph from(Bracket bracket) {
+        List<Round> rounds = bracket.getRounds();
+        int[] roundStart = new int[rounds.size() + 1];
+        for (int r = 0; r < rounds.size(); r++) {
+            roundStart[r + 1] = roundStart[r] + rounds.get(r).getMatches().size();
+        }
+        int matchCount = roundStart[rounds.size()];
+
+        Map<Match, Integer> matchIndex = new IdentityHashMap<>(matchCount * 2);
+        Match[] matches = new Match[matchCount];
+        int m = 0;
+        for (Round round : rounds) {
+            for (Match match : round.getMatches()) {
+                matches[m] = match;
+                matchIndex.put(match, m++);
+            }
+        }
+
+        Map<Integer, Integer> teamIndex = new HashMap<>();
+        int[] matchIds = new int[matchCount];
+        int[] team1 = new int[matchCount];
+        int[] team2 = new int[matchCount];
+        int[] winner = new int[matchCount];
+        int[] source1 = new int[matchCount];
+        int[] source2 = new int[matchCount];
+        BitSet complete = new BitSet(matchCount);
+
+        for (m = 0; m < matchCount; m++) {
+            Match match = matches[m];
+            matchIds[m] = match.getMatchId();
+            team1[m] = indexOf(teamIndex, match.getTeam1());
+            team2[m] = indexOf(teamIndex, match.getTeam2());
+            winner[m] = indexOf(teamIndex, match.getWinner());
+            source1[m] = match.getSourceMatch1() == null ? NONE : matchIndex.getOrDefault(match.getSourceMatch1(), NONE);
+            source2[m] = match.getSourceMatch2() == null ? NONE : matchIndex.getOrDefault(match.getSourceMatch2(), NONE);
+            if (match.isComplete()) complete.set(m);
+        }
+
+        int[] teamIds = new int[teamIndex.size()];
+        teamIndex.forEach((teamId, index) -> teamIds[index] = teamId);
+        return new BracketGraph(roundStart, matchIds, teamIds, team1, team2, winner, source1, source2, complete);
+    }
+
+    /**
+     * Gets a team's index, numbering teams in order of first appearance.
+     */
+    private static int indexOf(Map<Integer, Integer> teamIndex, Team team) {
+        if (team == null) return NONE;
+        Integer index = teamIndex.get(team.getTeamId());
+        if (index == null) {
+            index = teamIndex.size();
+            teamIndex.put(team.getTeamId(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Creates an independent copy, e.g. for simulating results without changing this graph.
+     *
+     * @return A copy sharing no mutable state with this graph.
+     */
+    public BracketGraph copy() {
+        return new BracketGraph(this);
+    }
+
+    /**
+     * Copies the mutable state and shares the structure, which never changes after construction.
+     */
+    private BracketGraph(BracketGraph other) {
+        this.roundStart = other.roundStart;
+        this.roundOf = other.roundOf;
+        this.matchIds = other.matchIds;
+        this.teamIds = other.teamIds;
+        this.team1 = other.team1.clone();
+        this.team2 = other.team2.clone();
+        this.winner = other.winner.clone();
+        this.source1 = other.source1;
+        this.source2 = other.source2;
+        this.complete = (BitSet) other.complete.clone();
+        this.downstreamStart = other.downstreamStart;
+        this.downstreamMatch = other.downstreamMatch;
+        this.downstreamSlot = other.downstreamSlot;
+    }
+
+    /**
+     * Writes the teams, winners and completion flags of this graph back onto the bracket it was
+     * built from. Only matches whose values differ are touched, so unchanged matches fire no events.
+     *
+     * @param bracket The bracket this graph was built from, with the same rounds and matches.
+     * @return The number of matches that changed.
+     * @throws IllegalArgumentException If the bracket's shape no longer matches the graph.
+     */
+    public int applyTo(Bracket bracket) {
+        Map<Integer, Team> teams = new HashMap<>();
+        for (Round round : bracket.getRounds()) {
+            for (Match match : round.getMatches()) {
+                collect(teams, match.getTeam1());
+                collect(teams, match.getTeam2());
+                collect(teams, match.getWinner());
+            }
+        }
+        return applyTo(bracket, teams::get);
+    }
+
+    /**
+     * Writes the teams, winners and completion flags of this graph back onto a bracket, resolving
+     * teams through the given lookup.
+     *
+     * @param bracket The bracket this graph was built from, with the same rounds and matches.
+     * @param teamsById Looks up the {@code Team} for a team ID.
+     * @return The number of matches that changed.
+     * @throws IllegalArgumentException If the bracket's shape no longer matches the graph.
+     */
+    public int applyTo(Bracket bracket, IntFunction<Team> teamsById) {
+        List<Round> rounds = bracket.getRounds();
+        if (rounds.size() != getRoundCount()) {
+            throw new IllegalArgumentException("Bracket has " + rounds.size() + " rounds, graph has " + getRoundCount());
+        }
+        Team[] teams = new Team[teamIds.length];
+        for (int t = 0; t < teamIds.length; t++) {
+            teams[t] = teamsById.apply(teamIds[t]);
+        }
+
+        int[] changed = {0};
+        ModelTransaction.run(() -> {
+            for (int r = 0; r < rounds.size(); r++) {
+                List<Match> matches = rounds.get(r).getMatches();
+                if (matches.size() != roundStart[r + 1] - roundStart[r]) {
+                    throw new IllegalArgumentException("Round " + r + " does not match the graph");
+                }
+                for (int i = 0; i < matches.size(); i++) {
+                    Match match = matches.get(i);
+                    int m = roundStart[r] + i;
+                    Team t1 = team1[m] == NONE ? null : teams[team1[m]];
+                    Team t2 = team2[m] == NONE ? null : teams[team2[m]];
+                    Team w = winner[m] == NONE ? null : teams[winner[m]];
+                    boolean dirty = false;
+                    if (match.getTeam1() != t1) { match.setTeam1(t1); dirty = true; }
+                    if (match.getTeam2() != t2) { match.setTeam2(t2); dirty = true; }
+                    if (match.getWinner() != w) { match.setWinner(w); dirty = true; }
+                    if (match.isComplete() != complete.get(m)) { match.setComplete(complete.get(m)); dirty = true; }
+                    if (dirty) changed[0]++;
+                }
+            }
+        });
+        return changed[0];
+    }
+
+    private static void collect(Map<Integer, Team> teams, Team team) {
+        if (team != null) teams.putIfAbsent(team.getTeamId(), team);
+    }
+
+    /**
+     * Records a result and advances it through the graph. A team that is replaced in a later match
+     * takes that match's result with it, and the clearing continues down the bracket.
+     *
+     * @param match The index of the decided match.
+     * @param team The index of the winning team, or {@link #NONE} to clear the result.
+     * @return The number of matches whose teams or result changed.
+     */
+    public int setWinner(int match, int team) {
+        if (winner[match] == team && complete.get(match) == (team != NONE)) {
+            return 0;
+        }
+        winner[match] = team;
+        complete.set(match, team != NONE);
+
+        int changed = 1;
+        if (work == null) {
+            work = new int[getMatchCount()];
+        }
+        int head = 0;
+        int tail = 0;
+        work[tail++] = match;
+        while (head < tail) {
+            int source = work[head++];
+            int advancing = winner[source];
+            for (int e = downstreamStart[source]; e < downstreamStart[source + 1]; e++) {
+                int next = downstreamMatch[e];
+                int[] slot = downstreamSlot[e] == 1 ? team1 : team2;
+                if (slot[next] == advancing) continue;
+                slot[next] = advancing;
+                changed++;
+                if (winner[next] != NONE && winner[next] != team1[next] && winner[next] != team2[next]) {
+                    winner[next] = NONE;
+                    complete.clear(next);
+                    work[tail++] = next;
+                }
+            }
+        }
+        return changed;
+    }
+
+    public int getMatchCount() { return matchIds.length; }
+    public int getRoundCount() { return roundStart.length - 1; }
+    public int getTeamCount() { return teamIds.length; }
+
+    /**
+     * Gets the index of the first match of a round. {@code roundStart(getRoundCount())} is the
+     * match count, so the matches of round {@code r} are {@code [roundStart(r), roundStart(r + 1))}.
+     *
+     * @param round The round index, from 0 to {@link #getRoundCount()} inclusive.
+     * @return The first match index of the round.
+     */
+    public int roundStart(int round) { return roundStart[round]; }
+
+    public int roundOf(int match) { return roundOf[match]; }
+    public int matchId(int match) { return matchIds[match]; }
+    public int teamId(int team) { return teamIds[team]; }
+    public int team1(int match) { return team1[match]; }
+    public int team2(int match) { return team2[match]; }
+    public int winner(int match) { return winner[match]; }
+    public int source1(int match) { return source1[match]; }
+    public int source2(int match) { return source2[match]; }
+    public boolean isComplete(int match) { return complete.get(match); }
+
+    /**
+     * Gets the index of a team.
+     *
+     * @param teamId The team's database ID.
+     * @return The team index, or {@link #NONE} if the team does not appear in the bracket.
+     */
+    public int teamIndex(int teamId) {
+        for (int t = 0; t < teamIds.length; t++) {
+            if (teamIds[t] == teamId) return t;
+        }
+        return NONE;
+    }
+
+    /**
+     * Gets the number of slots a match's winner advances into.
+     *
+     * @param match The match index.
+     * @return The number of downstream edges.
+     */
+    public int downstreamCount(int match) {
+        return downstreamStart[match + 1] - downstreamStart[match];
+    }
+
+    /**
+     * Gets the match that the winner of {@code match} advances into.
+     *
+     * @param match The match index.
+     * @param edge Which downstream edge, from 0 to {@link #downstreamCount(int)} exclusive.
+     * @return The downstream match index.
+     */
+    public int downstreamMatch(int match, int edge) {
+        return downstreamMatch[downstreamStart[match] + edge];
+    }
+
+    /**
+     * Gets the slot of the downstream match that the winner of {@code match} fills.
+     *
+     * @param match The match index.
+     * @param edge Which downstream edge, from 0 to {@link #downstreamCount(int)} exclusive.
+     * @return 1 for team one, 2 for team two.
+     */
+    public int downstreamSlot(int match, int edge) {
+        return downstreamSlot[downstreamStart[match] + edge];
+    }
+}
@@ -0,0 +1,212 @@
+package edu.augustana.csc305.project.model.domain;
+
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A "what-if" layer over a bracket.
+ *
+ * <p>Hypothetical winners are recorded on a private {@link BracketGraph} copy of the bracket, so
+ * downstream slots are recomputed at once while the bracket itself and the server are left alone.
+ * The overlay answers the same questions as a match (teams, winner, completion) and tells which
+ * matches differ from the real bracket. It can be {@link #reset() reset}, or its changes can be
+ * collected with {@link #getChanges()} and committed as one batch.</p>
+ *
+ * <p>Setting a winner works on the graph's {@code int} arrays and allocates nothing, so many
+ * scenarios can be tried in a row even on large brackets. An overlay must be used on the JavaFX
+ * application thread.</p>
+ */
+public final class BracketOverlay {
+
+    private final Bracket bracket;
+    private final long baseRevision;
+    private final BracketGraph base;
+    private BracketGraph graph;
+    private final Map<Match, Integer> matchIndex;
+    private final Map<Team, Integer> teamIndex;
+    private final Match[] matches;
+    private final Team[] teams;
+    private final ReadOnlyLongWrapper version = new ReadOnlyLongWrapper(this, "version");
+
+    private BracketOverlay(Bracket bracket) {
+        this.bracket = bracket;
+        this.baseRevision = bracket.getRevision();
+        this.base = BracketGraph.from(bracket);
+        this.graph = base.copy();
+
+        this.matches = new Match[base.getMatchCount()];
+        this.teams = new Team[base.getTeamCount()];
+        this.matchIndex = new IdentityHashMap<>(matches.length * 2);
+        this.teamIndex = new IdentityHashMap<>(teams.length * 2);
+        int m = 0;
+        for (Round round : bracket.getRounds()) {
+            for (Match match : round.getMatches()) {
+                matches[m] = match;
+                matchIndex.put(match, m);
+                register(base.team1(m), match.getTeam1());
+                register(base.team2(m), match.getTeam2());
+                register(base.winner(m), match.getWinner());
+                m++;
+            }
+        }
+    }
+
+    private void register(int index, Team team) {
+        if (index != BracketGraph.NONE && teams[index] == null) {
+            teams[index] = team;
+            teamIndex.put(team, index);
+        }
+    }
+
+    /**
+     * Starts a what-if layer over the current state of a bracket.
+     *
+     * @param bracket The bracket.
+     * @return An overlay without hypothetical results.
+     */
+    public static BracketOverlay of(Bracket bracket) {
+        return new BracketOverlay(bracket);
+    }
+
+    /**
+     * Gets the bracket under this overlay.
+     *
+     * @return The bracket.
+     */
+    public Bracket getBracket() {
+        return bracket;
+    }
+
+    /**
+     * Sets a hypothetical winner and advances it through the overlay.
+     *
+     * @param match A match of the bracket.
+     * @param winner One of the match's teams in the overlay, or {@code null} to clear its result.
+     * @return The number of matches whose teams or result changed in the overlay.
+     * @throws IllegalArgumentException If the match is not in the bracket or the team is not playing in it.
+     */
+    public int setWinner(Match match, Team winner) {
+        int m = indexOf(match);
+        int team = BracketGraph.NONE;
+        if (winner != null) {
+            Integer index = teamIndex.get(winner);
+            if (index == null || (index != graph.team1(m) && index != graph.team2(m))) {
+                throw new IllegalArgumentException(winner.getTeamName() + " is not playing in match " + match.getMatchId());
+            }
+            team = index;
+        }
+        int changed = graph.setWinner(m, team);
+        if (changed > 0) {
+            version.set(version.get() + 1);
+        }
+        return changed;
+    }
+
+    /**
+     * Removes every hypothetical result.
+     */
+    public void reset() {
+        if (isChanged()) {
+            graph = base.copy();
+            version.set(version.get() + 1);
+        }
+    }
+
+    public Team getTeam1(Match match) { return team(graph.team1(indexOf(match))); }
+    public Team getTeam2(Match match) { return team(graph.team2(indexOf(match))); }
+    public Team getWinner(Match match) { return team(graph.winner(indexOf(match))); }
+    public boolean isComplete(Match match) { return graph.isComplete(indexOf(match)); }
+
+    /**
+     * Checks if the overlay shows a match differently from the bracket.
+     *
+     * @param match A match of the bracket.
+     * @return {@code true} if the match's teams or result are hypothetical.
+     */
+    public boolean isHypothetical(Match match) {
+        return differs(indexOf(match));
+    }
+
+    /**
+     * Checks if the overlay contains any hypothetical result.
+     *
+     * @return {@code true} if at least one match differs from the bracket.
+     */
+    public boolean isChanged() {
+        for (int m = 0; m < matches.length; m++) {
+            if (differs(m)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the bracket has changed since the overlay was created, in which case its changes
+     * should not be committed.
+     *
+     * @return {@code true} if the bracket's revision moved on.
+     */
+    public boolean isStale() {
+        return bracket.getRevision() != baseRevision;
+    }
+
+    /**
+     * Gets the state of every match that differs from the bracket, for committing the scenario.
+     *
+     * @return The hypothetical match states in round order.
+     */
+    public Map<Match, BracketSnapshot.MatchState> getChanges() {
+        Map<Match, BracketSnapshot.MatchState> changes = new LinkedHashMap<>();
+        for (int m = 0; m < matches.length; m++) {
+            if (differs(m)) {
+                changes.put(matches[m], new BracketSnapshot.MatchState(team(graph.team1(m)), team(graph.team2(m)),
+                        team(graph.winner(m)), graph.isComplete(m)));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Gets the matches that differ from the bracket.
+     *
+     * @return The hypothetical matches in round order.
+     */
+    public List<Match> getChangedMatches() {
+        List<Match> changed = new ArrayList<>();
+        for (int m = 0; m < matches.length; m++) {
+            if (differs(m)) changed.add(matches[m]);
+        }
+        return changed;
+    }
+
+    /**
+     * Gets a counter that goes up whenever the overlay changes, for refreshing a view.
+     *
+     * @return The version property.
+     */
+    public ReadOnlyLongProperty versionProperty() {
+        return version.getReadOnlyProperty();
+    }
+
+    private boolean differs(int m) {
+        return graph.team1(m) != base.team1(m) || graph.team2(m) != base.team2(m)
+                || graph.winner(m) != base.winner(m) || graph.isComplete(m) != base.isComplete(m);
+    }
+
+    private int indexOf(Match match) {
+        Integer m = matchIndex.get(match);
+        if (m == null) {
+            throw new IllegalArgumentException("Match " + match.getMatchId() + " is not part of the bracket");
+        }
+        return m;
+    }
+
+    private Team team(int index) {
+        return index == BracketGraph.NONE ? null : teams[index];
+    }
+}
@@ -0,0 +1,216 @@
+package edu.augustana.csc305.project.model.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the teams and results of every match in a bracket.
+ *
+ * <p>The match states are kept in a persistent 32-way tree in round order. Changing a few matches
+ * with {@link #with(Match, MatchState)} or {@link #capture(Collection)} copies only the paths from
+ * the root to those matches, so successive versions of a bracket share almost all of their
+ * storage, and keeping a long history costs little more than the changes themselves. For the same
+ * reason {@link #diff(BracketSnapshot)} skips every subtree two versions share and visits only the
+ * parts that differ.</p>
+ *
+ * <p>All versions derived from one {@link #of(Bracket)} call share the bracket's match list, which
+ * is captured once; snapshots of the same bracket taken separately are not comparable.</p>
+ */
+public final class BracketSnapshot {
+
+    /**
+     * The teams and result of one match.
+     *
+     * @param team1 The first team, or {@code null}.
+     * @param team2 The second team, or {@code null}.
+     * @param winner The winner, or {@code null}.
+     * @param complete Whether the match is complete.
+     */
+    public record MatchState(Team team1, Team team2, Team winner, boolean complete) {
+
+        /**
+         * Reads the current state of a match.
+         *
+         * @param match The match.
+         * @return Its teams and result.
+         */
+        public static MatchState of(Match match) {
+            return new MatchState(match.getTeam1(), match.getTeam2(), match.getWinner(), match.isComplete());
+        }
+
+        /**
+         * Compares team identity, as teams are interned per tournament.
+         */
+        private boolean sameAs(MatchState other) {
+            return team1 == other.team1 && team2 == other.team2 && winner == other.winner && complete == other.complete;
+        }
+    }
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final Match[] matches;
+    private final Map<Match, Integer> index;
+    private final int shift;
+    private final Object[] root;
+
+    private BracketSnapshot(Match[] matches, Map<Match, Integer> index, int shift, Object[] root) {
+        this.matches = matches;
+        this.index = index;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Takes a snapshot of a bracket's current teams and results.
+     *
+     * @param bracket The bracket.
+     * @return The first version of the bracket's history.
+     */
+    public static BracketSnapshot of(Bracket bracket) {
+        List<Match> all = new ArrayList<>();
+        for (Round round : bracket.getRounds()) {
+            all.addAll(round.getMatches());
+        }
+        Match[] matches = all.toArray(new Match[0]);
+        Map<Match, Integer> index = new IdentityHashMap<>(matches.length * 2);
+        MatchState[] states = new MatchState[matches.length];
+        for (int m = 0; m < matches.length; m++) {
+            index.put(matches[m], m);
+            states[m] = MatchState.of(matches[m]);
+        }
+
+        int shift = 0;
+        while ((long) matches.length > (1L << (shift + BITS))) {
+            shift += BITS;
+        }
+        return new BracketSnapshot(matches, index, shift, build(states, shift, 0));
+    }
+
+    private static Object[] build(MatchState[] states, int shift, int base) {
+        int span = 1 << shift;
+        int children = Math.min(WIDTH, (states.length - base + span - 1) / span);
+        Object[] node = new Object[Math.max(0, children)];
+        for (int c = 0; c < node.length; c++) {
+            node[c] = shift == 0 ? states[base + c] : build(states, shift - BITS, base + c * span);
+        }
+        return node;
+    }
+
+    /**
+     * Gets the number of matches in the snapshot.
+     *
+     * @return The match count.
+     */
+    public int getMatchCount() {
+        return matches.length;
+    }
+
+    /**
+     * Gets a match by its position in round order.
+     *
+     * @param position The position, from 0 to {@link #getMatchCount()} exclusive.
+     * @return The match.
+     */
+    public Match getMatch(int position) {
+        return matches[position];
+    }
+
+    /**
+     * Gets the state of a match in this version.
+     *
+     * @param match A match of the bracket.
+     * @return Its state, or {@code null} if the match is not part of the snapshot.
+     */
+    public MatchState get(Match match) {
+        Integer position = index.get(match);
+        return position == null ? null : get(position);
+    }
+
+    /**
+     * Gets the state of the match at a position in round order.
+     *
+     * @param position The position, from 0 to {@link #getMatchCount()} exclusive.
+     * @return The match state.
+     */
+    public MatchState get(int position) {
+        Object[] node = root;
+        for (int s = shift; s > 0; s -= BITS) {
+            node = (Object[]) node[(position >>> s) & MASK];
+        }
+        return (MatchState) node[position & MASK];
+    }
+
+    /**
+     * Creates a version in which one match has a different state.
+     *
+     * @param match A match of the bracket.
+     * @param state Its new state.
+     * @return The new version, or this one if nothing changed.
+     * @throws IllegalArgumentException If the match is not part of the snapshot.
+     */
+    public BracketSnapshot with(Match match, MatchState state) {
+        Integer position = index.get(match);
+        if (position == null) {
+            throw new IllegalArgumentException("Match " + match.getMatchId() + " is not part of this snapshot");
+        }
+        if (get(position).sameAs(state)) {
+            return this;
+        }
+        return new BracketSnapshot(matches, index, shift, set(root, shift, position, state));
+    }
+
+    private static Object[] set(Object[] node, int shift, int position, MatchState state) {
+        Object[] copy = node.clone();
+        int child = (position >>> shift) & MASK;
+        copy[child] = shift == 0 ? state : set((Object[]) node[child], shift - BITS, position, state);
+        return copy;
+    }
+
+    /**
+     * Creates a version with the current state of the given matches, read from the live model.
+     *
+     * @param changed Matches of the bracket that may have changed since this version.
+     * @return The new version, or this one if none of them changed.
+     */
+    public BracketSnapshot capture(Collection<Match> changed) {
+        BracketSnapshot result = this;
+        for (Match match : changed) {
+            result = result.with(match, MatchState.of(match));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the matches whose state differs between this version and another.
+     *
+     * @param other Another version of the same bracket.
+     * @return The differing matches in round order.
+     * @throws IllegalArgumentException If {@code other} was not derived from the same snapshot of the bracket.
+     */
+    public List<Match> diff(BracketSnapshot other) {
+        if (other.matches != matches) {
+            throw new IllegalArgumentException("Snapshots belong to different brackets");
+        }
+        List<Match> changed = new ArrayList<>();
+        diff(root, other.root, shift, 0, changed);
+        return changed;
+    }
+
+    private void diff(Object[] a, Object[] b, int shift, int base, List<Match> changed) {
+        if (a == b) return;
+        for (int c = 0; c < a.length; c++) {
+            if (shift == 0) {
+                if (!((MatchState) a[c]).sameAs((MatchState) b[c])) {
+                    changed.add(matches[base + c]);
+                }
+            } else {
+                diff((Object[]) a[c], (Object[]) b[c], shift - BITS, base + (c << shift), changed);
+            }
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package edu.augustana.csc305.project.model.domain;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The teams of a league in standings order, as an observable list.
+ *
+ * <p>Teams are ordered by points (highest first), then by a tiebreak value (highest first), then
+ * by team ID. Teams with the same points and tiebreak share a rank, so the ranks of a table may
+ * read 1, 2, 2, 4. The order is kept in an order-statistic treap stored in parallel {@code int}
+ * arrays, so changing a team's points, finding a team's rank and finding the team at a position
+ * all take {@code O(log n)}, and a range of {@code k} teams is read in {@code O(log n + k)}.</p>
+ *
+ * <p>The list can be handed to a {@code TableView} as its items: the table only reads the rows it
+ * shows, and every update fires one change covering the rows whose position or rank changed.
+ * The list can only be changed through {@link #setPoints}, {@link #remove(Team)},
+ * {@link #update(Map)} and {@link #clear()}. Teams are identified by their team ID. Like the rest
+ * of the observable model it must only be used on the JavaFX application thread.</p>
+ */
+public final class Leaderboard extends ObservableListBase<Team> {
+
+    /**
+     * The empty tree; node 0 is never used, and its size is 0.
+     */
+    private static final int NIL = 0;
+
+    /**
+     * Above this many changed teams, {@link #update(Map)} rebuilds the tree and fires a single
+     * change instead of one per team.
+     */
+    private static final int REBUILD_THRESHOLD = 16;
+
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] size = new int[16];
+    private int[] priority = new int[16];
+    private int[] points = new int[16];
+    private int[] tiebreak = new int[16];
+    private int[] teamIds = new int[16];
+    private Team[] teams = new Team[16];
+
+    private final Map<Integer, Integer> nodeById = new HashMap<>();
+    private int[] freeNodes = new int[16];
+    private int freeCount;
+    private int nodeCount;
+    private int root = NIL;
+    private int seed = 0x9E3779B9;
+
+    /**
+     * Results of {@link #split}, kept in fields so updates allocate nothing.
+     */
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * Gets the team at a position in the standings.
+     *
+     * @param index The position, starting at 0 for the leader.
+     * @return The team.
+     * @throws IndexOutOfBoundsException If the position is outside the standings.
+     */
+    @Override
+    public Team get(int index) {
+        Objects.checkIndex(index, size());
+        int node = root;
+        while (true) {
+            int leftSize = size[left[node]];
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return teams[node];
+            } else {
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size[root];
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Team team)) return -1;
+        Integer node = nodeById.get(team.getTeamId());
+        return node == null || teams[node] != team ? -1 : positionOf(node);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Gets a team's points.
+     *
+     * @param team The team.
+     * @return The team's points, or 0 if the team is not in the standings.
+     */
+    public int getPoints(Team team) {
+        Integer node = nodeById.get(team.getTeamId());
+        return node == null ? 0 : points[node];
+    }
+
+    /**
+     * Gets a team's rank: one more than the number of teams with more points, or the same points
+     * and a higher tiebreak.
+     *
+     * @param team The team.
+     * @return The rank, starting at 1, or -1 if the team is not in the standings.
+     */
+    public int getRank(Team team) {
+        Integer node = nodeById.get(team.getTeamId());
+        return node == null ? -1 : countBefore(points[node], tiebreak[node], Long.MIN_VALUE) + 1;
+    }
+
+    /**
+     * Gets the teams at the top of the standings.
+     *
+     * @param k The number of teams.
+     * @return Up to {@code k} teams, leader first.
+     */
+    public List<Team> getTop(int k) {
+        return getRange(0, Math.min(k, size()));
+    }
+
+    /**
+     * Gets the teams at a range of positions.
+     *
+     * @param from The first position, inclusive.
+     * @param to The last position, exclusive.
+     * @return The teams in standings order.
+     * @throws IndexOutOfBoundsException If the range is outside the standings.
+     */
+    public List<Team> getRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, size());
+        List<Team> range = new ArrayList<>(to - from);
+        if (from == to) return range;
+
+        // Walk down to position 'from', stacking the ancestors that come after it, then continue in order.
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        int skip = from;
+        while (true) {
+            int leftSize = size[left[node]];
+            if (skip <= leftSize) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = node;
+                if (skip == leftSize) break;
+                node = left[node];
+            } else {
+                skip -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        while (range.size() < to - from) {
+            node = stack[--depth];
+            range.add(teams[node]);
+            for (int next = right[node]; next != NIL; next = left[next]) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = next;
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Sets a team's points, with a tiebreak of 0.
+     *
+     * @param team The team.
+     * @param teamPoints The team's points.
+     * @see #setPoints(Team, int, int)
+     */
+    public void setPoints(Team team, int teamPoints) {
+        setPoints(team, teamPoints, 0);
+    }
+
+    /**
+     * Sets a team's points and tiebreak, adding the team if it is not in the standings yet.
+     *
+     * <p>If a team with the same ID but a different name is already in the standings, it is
+     * replaced by the given team.</p>
+     *
+     * @param team The team.
+     * @param teamPoints The team's points.
+     * @param teamTiebreak Orders teams with the same points; the higher value ranks first.
+     */
+    public void setPoints(Team team, int teamPoints, int teamTiebreak) {
+        Integer existing = nodeById.get(team.getTeamId());
+        if (existing == null) {
+            int node = allocate(team, teamPoints, teamTiebreak);
+            insert(node);
+            int position = positionOf(node);
+            beginChange();
+            nextAdd(position, position + 1);
+            endChange();
+            return;
+        }
+
+        int node = existing;
+        Team previous = teams[node];
+        boolean renamed = !Objects.equals(previous.getTeamName(), team.getTeamName());
+        if (points[node] == teamPoints && tiebreak[node] == teamTiebreak) {
+            if (renamed) {
+                int position = positionOf(node);
+                teams[node] = team;
+                beginChange();
+                nextReplace(position, position + 1, List.of(previous));
+                endChange();
+            }
+            return;
+        }
+
+        // Every team whose position or rank can change lies between the old and the new group.
+        boolean improves = compareGroup(teamPoints, teamTiebreak, points[node], tiebreak[node]) < 0;
+        int betterPoints = improves ? teamPoints : points[node];
+        int betterTiebreak = improves ? teamTiebreak : tiebreak[node];
+        int worsePoints = improves ? points[node] : teamPoints;
+        int worseTiebreak = improves ? tiebreak[node] : teamTiebreak;
+        int from = countBefore(betterPoints, betterTiebreak, Long.MIN_VALUE);
+        int to = countBefore(worsePoints, worseTiebreak, Long.MAX_VALUE);
+        List<Team> removed = hasListeners() ? getRange(from, to) : List.of();
+
+        root = delete(root, node);
+        if (renamed) teams[node] = team;
+        points[node] = teamPoints;
+        tiebreak[node] = teamTiebreak;
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        insert(node);
+
+        beginChange();
+        nextReplace(from, to, removed);
+        endChange();
+    }
+
+    /**
+     * Removes a team from the standings.
+     *
+     * @param team The team.
+     * @return {@code true} if the team was in the standings.
+     */
+    public boolean remove(Team team) {
+        Integer node = nodeById.remove(team.getTeamId());
+        if (node == null) return false;
+        int position = positionOf(node);
+        Team removed = teams[node];
+        root = delete(root, node);
+        release(node);
+
+        beginChange();
+        nextRemove(position, removed);
+        endChange();
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Team team && remove(team);
+    }
+
+    /**
+     * Removes every team from the standings.
+     */
+    @Override
+    public void clear() {
+        if (size() == 0) return;
+        List<Team> removed = getRange(0, size());
+        reset();
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    /**
+     * Brings the standings in line with a table of points: teams missing from it are removed and
+     * all others are set, with a tiebreak of 0. Only teams whose points or name changed fire a
+     * change; if many did, the standings are rebuilt and replaced in a single change.
+     *
+     * @param standings The points of every team in the league.
+     */
+    public void update(Map<Team, Integer> standings) {
+        List<Team> stale = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : nodeById.entrySet()) {
+            stale.add(teams[entry.getValue()]);
+        }
+        Map<Integer, Team> byId = new HashMap<>(standings.size() * 4 / 3 + 1);
+        for (Team team : standings.keySet()) {
+            byId.put(team.getTeamId(), team);
+        }
+        stale.removeIf(team -> byId.containsKey(team.getTeamId()));
+
+        int changes = stale.size();
+        for (Map.Entry<Team, Integer> entry : standings.entrySet()) {
+            Integer node = nodeById.get(entry.getKey().getTeamId());
+            if (node == null || points[node] != entry.getValue() || tiebreak[node] != 0
+                    || !Objects.equals(teams[node].getTeamName(), entry.getKey().getTeamName())) {
+                changes++;
+            }
+        }
+        if (changes == 0) return;
+
+        if (changes <= REBUILD_THRESHOLD) {
+            for (Team team : stale) {
+                remove(team);
+            }
+            for (Map.Entry<Team, Integer> entry : standings.entrySet()) {
+                setPoints(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+
+        List<Team> removed = getRange(0, size());
+        reset();
+        for (Team team : byId.values()) {
+            insert(allocate(team, standings.get(team), 0));
+        }
+        beginChange();
+        nextReplace(0, size(), removed);
+        endChange();
+    }
+
+    private void reset() {
+        nodeById.clear();
+        Arrays.fill(teams, null);
+        root = NIL;
+        nodeCount = 0;
+        freeCount = 0;
+    }
+
+    /**
+     * Orders two groups of teams: negative if the first ranks ahead of the second.
+     */
+    private static int compareGroup(int pointsA, int tiebreakA, int pointsB, int tiebreakB) {
+        if (pointsA != pointsB) return Integer.compare(pointsB, pointsA);
+        return Integer.compare(tiebreakB, tiebreakA);
+    }
+
+    /**
+     * Checks if a node comes before the given position in the order.
+     */
+    private boolean isBefore(int node, int keyPoints, int keyTiebreak, long keyTeamId) {
+        int group = compareGroup(points[node], tiebreak[node], keyPoints, keyTiebreak);
+        return group < 0 || (group == 0 && teamIds[node] < keyTeamId);
+    }
+
+    /**
+     * Counts the teams that come before the given position in the order.
+     */
+    private int countBefore(int keyPoints, int keyTiebreak, long keyTeamId) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (isBefore(node, keyPoints, keyTiebreak, keyTeamId)) {
+                count += size[left[node]] + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    private int positionOf(int node) {
+        return countBefore(points[node], tiebreak[node], teamIds[node]);
+    }
+
+    private int allocate(Team team, int teamPoints, int teamTiebreak) {
+        int node;
+        if (freeCount > 0) {
+            node = freeNodes[--freeCount];
+        } else {
+            node = ++nodeCount;
+            if (node == left.length) {
+                int capacity = node * 2;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                size = Arrays.copyOf(size, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+                points = Arrays.copyOf(points, capacity);
+                tiebreak = Arrays.copyOf(tiebreak, capacity);
+                teamIds = Arrays.copyOf(teamIds, capacity);
+                teams = Arrays.copyOf(teams, capacity);
+            }
+        }
+        // xorshift: a cheap, well-spread priority for each node.
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priority[node] = seed;
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        points[node] = teamPoints;
+        tiebreak[node] = teamTiebreak;
+        teamIds[node] = team.getTeamId();
+        teams[node] = team;
+        nodeById.put(team.getTeamId(), node);
+        return node;
+    }
+
+    private void release(int node) {
+        teams[node] = null;
+        if (freeCount == freeNodes.length) freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+        freeNodes[freeCount++] = node;
+    }
+
+    private void insert(int node) {
+        split(root, points[node], tiebreak[node], teamIds[node]);
+        int after = splitRight;
+        root = merge(merge(splitLeft, node), after);
+    }
+
+    /**
+     * Splits a tree into the nodes before the given position ({@link #splitLeft}) and the rest
+     * ({@link #splitRight}).
+     */
+    private void split(int node, int keyPoints, int keyTiebreak, long keyTeamId) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (isBefore(node, keyPoints, keyTiebreak, keyTeamId)) {
+            split(right[node], keyPoints, keyTiebreak, keyTeamId);
+            right[node] = splitLeft;
+            resize(node);
+            splitLeft = node;
+        } else {
+            split(left[node], keyPoints, keyTiebreak, keyTeamId);
+            left[node] = splitRight;
+            resize(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Joins two trees where every node of {@code a} comes before every node of {@code b}.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            resize(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        resize(b);
+        return b;
+    }
+
+    private int delete(int node, int target) {
+        if (node == target) {
+            return merge(left[node], right[node]);
+        }
+        if (isBefore(node, points[target], tiebreak[target], teamIds[target])) {
+            right[node] = delete(right[node], target);
+        } else {
+            left[node] = delete(left[node], target);
+        }
+        resize(node);
+        return node;
+    }
+
+    private void resize(int node) {
+        size[node] = size[left[node]] + size[right[node]] + 1;
+    }
+}
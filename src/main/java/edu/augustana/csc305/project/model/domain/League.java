@@ -1,5 +1,6 @@
 package edu.augustana.csc305.project.model.domain;
 
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
@@ -12,7 +13,8 @@ import javafx.collections.ObservableMap;
  * <p>
  * This class uses JavaFX properties and collections for easy integration
  * with a graphical user interface (GUI), allowing for automatic updates
- * when data changes.
+ * when data changes. Its {@link #revisionProperty() revision} goes up when the name, the
+ * tournaments or the standings change, once per {@link ModelTransaction}.
  * </p>
  * JavaDoc by gemini 2.5 Flash.
  */
@@ -41,6 +43,11 @@ public class League {
      */
     private int leagueID;
 
+    /**
+     * Counts changes to the league for coalesced change notification.
+     */
+    private final ModelRevision revision = new ModelRevision(this);
+
     /**
      * Constructs a new League with the specified name.
      * Initializes all JavaFX properties and observable collections.
@@ -51,6 +58,22 @@ public class League {
         this.leagueName = new SimpleStringProperty(leagueName);
         this.tournaments = FXCollections.observableArrayList();
         this.standings = FXCollections.observableHashMap();
+        this.leagueName.addListener(revision.propertyListener);
+        this.tournaments.addListener(revision.collectionListener);
+        this.standings.addListener(revision.collectionListener);
+    }
+
+    /**
+     * Gets the revision of the league.
+     *
+     * @return A number that goes up whenever the league's name, tournaments or standings change.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public ReadOnlyLongProperty revisionProperty() {
+        return revision.property();
     }
 
     /**
@@ -11,8 +11,8 @@ import javafx.beans.property.SimpleObjectProperty;
  * and a referee (now represented by a {@link User} with the REFEREE role) responsible
  * for overseeing the game and reporting the result.
  * <p>
- * This class is now fully reactive. When a winner is set on a source match,
- * this match will automatically update its corresponding team property.
+ * A match does not listen to its source matches. Winners are advanced into later matches by the
+ * {@code WinnerPropagationEngine}, so one result causes one batch of property changes.
  * </p>
  * JavaDoc made with Gemini 2.5 Flash and some parts helped by Gemini 2.5 Pro.
  */
@@ -30,8 +30,7 @@ public class Match {
 
     /**
      * The primary private constructor to initialize all match properties.
-     * It now includes listeners to make the bracket reactive.
-     * Listens in the class was recommended by Gemini 2.5 Flash to handle updating automatically.
+     * Teams already decided by a source match are copied in once.
      */
     private Match(Team team1, Team team2, Match sourceMatch1, Match sourceMatch2, Court court, User referee) {
         this.team1 = new SimpleObjectProperty<>(team1);
@@ -43,14 +42,8 @@ public class Match {
         this.sourceMatch1 = new SimpleObjectProperty<>(sourceMatch1);
         this.sourceMatch2 = new SimpleObjectProperty<>(sourceMatch2);
 
-        if (sourceMatch1 != null) {
-            sourceMatch1.winnerProperty().addListener((obs, oldWinner, newWinner) -> this.setTeam1(newWinner));
-            if (sourceMatch1.getWinner() != null) this.setTeam1(sourceMatch1.getWinner());
-        }
-        if (sourceMatch2 != null) {
-            sourceMatch2.winnerProperty().addListener((obs, oldWinner, newWinner) -> this.setTeam2(newWinner));
-            if (sourceMatch2.getWinner() != null) this.setTeam2(sourceMatch2.getWinner());
-        }
+        if (sourceMatch1 != null && sourceMatch1.getWinner() != null) this.setTeam1(sourceMatch1.getWinner());
+        if (sourceMatch2 != null && sourceMatch2.getWinner() != null) this.setTeam2(sourceMatch2.getWinner());
     }
 
     /**
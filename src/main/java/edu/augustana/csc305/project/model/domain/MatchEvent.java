@@ -0,0 +1,57 @@
+package edu.augustana.csc305.project.model.domain;
+
+/**
+ * A single change to one match, as recorded in a {@link MatchEventJournal}.
+ *
+ * <p>Events are plain facts identified by database IDs, so they stay valid after the observable
+ * model they came from has been reloaded. Empty team, court and referee slots are
+ * {@link MatchEventJournal#NONE}. Each event describes exactly one match; a result that advances
+ * through the bracket is recorded as one event per match it changed.</p>
+ */
+public sealed interface MatchEvent {
+
+    /**
+     * Gets the ID of the match this event changes.
+     *
+     * @return The match ID.
+     */
+    int matchId();
+
+    /**
+     * The full state of a match as it was loaded from the server, recorded when the journal first
+     * sees the match or when a reload shows that the server's state differs from the journal's.
+     */
+    record MatchLoaded(int matchId, int bracketId, int team1Id, int team2Id, int winnerId, boolean complete,
+                       int courtId, int refereeId) implements MatchEvent {}
+
+    /**
+     * A match without a result was decided.
+     */
+    record ResultSet(int matchId, int winnerId) implements MatchEvent {}
+
+    /**
+     * The result of a decided match was changed to another winner, or cleared when
+     * {@code winnerId} is {@link MatchEventJournal#NONE}.
+     */
+    record ResultCorrected(int matchId, int winnerId, int previousWinnerId) implements MatchEvent {}
+
+    /**
+     * The team in one slot of a match was replaced, either because a winner advanced into it or
+     * because an organizer swapped the team.
+     *
+     * @param slot 1 for team one, 2 for team two.
+     */
+    record TeamSubstituted(int matchId, int slot, int teamId, int previousTeamId) implements MatchEvent {}
+
+    /**
+     * A match was moved to another court, or taken off its court when {@code courtId} is
+     * {@link MatchEventJournal#NONE}.
+     */
+    record CourtAssigned(int matchId, int courtId) implements MatchEvent {}
+
+    /**
+     * A match was given another referee, or its referee was removed when {@code refereeId} is
+     * {@link MatchEventJournal#NONE}.
+     */
+    record RefereeAssigned(int matchId, int refereeId) implements MatchEvent {}
+}
@@ -0,0 +1,414 @@
+package edu.augustana.csc305.project.model.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * An append-only history of the match changes in one tournament.
+ *
+ * <p>Every change to a match is appended as a {@link MatchEvent} with a sequence number and a
+ * timestamp, and the journal keeps the state that results from applying all of them. Every
+ * {@code snapshotInterval} events it also keeps a compact copy of that state, made of a few
+ * {@code int} arrays, so the state after any event can be rebuilt by copying the nearest earlier
+ * snapshot and replaying at most {@code snapshotInterval} events. This makes audits, reloads and
+ * questions like "what did the bracket look like at 3 pm" cheap, without asking the server.</p>
+ *
+ * <p>Brackets loaded from the server are brought in with {@link #track(Bracket)}, which records a
+ * {@link MatchEvent.MatchLoaded} event only for matches that are new or whose server state differs
+ * from the journal's. The journal is thread-safe.</p>
+ */
+public final class MatchEventJournal {
+
+    /**
+     * Marks an empty team, winner, court or referee.
+     */
+    public static final int NONE = BracketGraph.NONE;
+
+    /**
+     * The default number of events between two snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1000;
+
+    /**
+     * An event together with its place in the journal.
+     *
+     * @param sequence The number of events recorded before this one.
+     * @param time When the event was recorded; never earlier than the previous entry's time.
+     * @param event The event.
+     */
+    public record Entry(long sequence, Instant time, MatchEvent event) {}
+
+    private final int snapshotInterval;
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<State> snapshots = new ArrayList<>();
+    private final Map<Integer, List<Entry>> entriesByMatch = new HashMap<>();
+    private final State current = new State();
+
+    /**
+     * Constructs an empty journal that takes a snapshot every {@value #DEFAULT_SNAPSHOT_INTERVAL} events.
+     */
+    public MatchEventJournal() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructs an empty journal.
+     *
+     * @param snapshotInterval The number of events between two snapshots.
+     * @throws IllegalArgumentException If the interval is not positive.
+     */
+    public MatchEventJournal(int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + snapshotInterval);
+        }
+        this.snapshotInterval = snapshotInterval;
+        snapshots.add(current.copy());
+    }
+
+    /**
+     * Appends an event and applies it to the current state.
+     *
+     * @param event The event to record.
+     * @return The journal entry of the event.
+     */
+    public synchronized Entry append(MatchEvent event) {
+        Instant now = Instant.now();
+        if (!entries.isEmpty()) {
+            Instant last = entries.get(entries.size() - 1).time();
+            if (now.isBefore(last)) now = last;
+        }
+        Entry entry = new Entry(entries.size(), now, event);
+        entries.add(entry);
+        entriesByMatch.computeIfAbsent(event.matchId(), id -> new ArrayList<>()).add(entry);
+        current.apply(event);
+        if (entries.size() % snapshotInterval == 0) {
+            snapshots.add(current.copy());
+        }
+        return entry;
+    }
+
+    /**
+     * Records the server state of a bracket's matches. A {@link MatchEvent.MatchLoaded} event is
+     * appended for every match the journal has not seen yet and for every match whose loaded state
+     * differs from the journal's; matches without a database ID are skipped.
+     *
+     * @param bracket A bracket as loaded from the server.
+     * @return The number of events appended.
+     */
+    public synchronized int track(Bracket bracket) {
+        int appended = 0;
+        for (Round round : bracket.getRounds()) {
+            for (Match match : round.getMatches()) {
+                if (match.getMatchId() == 0) continue;
+                MatchEvent.MatchLoaded loaded = new MatchEvent.MatchLoaded(match.getMatchId(), bracket.getBracketId(),
+                        teamId(match.getTeam1()), teamId(match.getTeam2()), teamId(match.getWinner()), match.isComplete(),
+                        match.getCourt() == null ? NONE : match.getCourt().getCourtId(),
+                        match.getReferee() == null ? NONE : match.getReferee().getUserId());
+                if (!current.matches(loaded)) {
+                    append(loaded);
+                    appended++;
+                }
+            }
+        }
+        return appended;
+    }
+
+    /**
+     * Gets the number of recorded events.
+     *
+     * @return The event count, which is also the sequence number of the next event.
+     */
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets a range of the journal.
+     *
+     * @param fromSequence The first sequence number to include.
+     * @param toSequence The sequence number to stop before.
+     * @return The entries in order.
+     */
+    public synchronized List<Entry> getEntries(long fromSequence, long toSequence) {
+        int from = (int) Math.max(0, Math.min(fromSequence, entries.size()));
+        int to = (int) Math.max(from, Math.min(toSequence, entries.size()));
+        return List.copyOf(entries.subList(from, to));
+    }
+
+    /**
+     * Gets every event that changed one match.
+     *
+     * @param matchId The match ID.
+     * @return The match's entries in order; empty if it was never recorded.
+     */
+    public synchronized List<Entry> getHistory(int matchId) {
+        List<Entry> history = entriesByMatch.get(matchId);
+        return history == null ? Collections.emptyList() : List.copyOf(history);
+    }
+
+    /**
+     * Gets the state after all recorded events.
+     *
+     * @return A copy of the current state.
+     */
+    public synchronized State getState() {
+        return current.copy();
+    }
+
+    /**
+     * Rebuilds the state after a given number of events, replaying from the nearest snapshot.
+     *
+     * @param sequence The number of events to apply; clamped to the journal's size.
+     * @return The state at that point.
+     */
+    public synchronized State stateAt(long sequence) {
+        int target = (int) Math.max(0, Math.min(sequence, entries.size()));
+        int snapshot = Math.min(target / snapshotInterval, snapshots.size() - 1);
+        State state = snapshots.get(snapshot).copy();
+        for (int i = snapshot * snapshotInterval; i < target; i++) {
+            state.apply(entries.get(i).event());
+        }
+        return state;
+    }
+
+    /**
+     * Rebuilds the state as it was at a point in time.
+     *
+     * @param time The point in time.
+     * @return The state after every event recorded at or before {@code time}.
+     */
+    public synchronized State stateAt(Instant time) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).time().isAfter(time)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return stateAt(low);
+    }
+
+    private static int teamId(Team team) {
+        return team == null ? NONE : team.getTeamId();
+    }
+
+    /**
+     * The state of every recorded match at one point in the journal, held in parallel arrays.
+     * States returned by the journal are copies and are not changed by later events.
+     */
+    public static final class State {
+        private final Map<Integer, Integer> slots;
+        private int size;
+        private long sequence;
+        private int[] matchIds;
+        private int[] bracketIds;
+        private int[] team1;
+        private int[] team2;
+        private int[] winner;
+        private int[] court;
+        private int[] referee;
+        private final BitSet complete;
+
+        private State() {
+            this.slots = new HashMap<>();
+            this.matchIds = new int[16];
+            this.bracketIds = new int[16];
+            this.team1 = new int[16];
+            this.team2 = new int[16];
+            this.winner = new int[16];
+            this.court = new int[16];
+            this.referee = new int[16];
+            this.complete = new BitSet();
+        }
+
+        private State(State other) {
+            this.slots = new HashMap<>(other.slots);
+            this.size = other.size;
+            this.sequence = other.sequence;
+            this.matchIds = Arrays.copyOf(other.matchIds, other.size);
+            this.bracketIds = Arrays.copyOf(other.bracketIds, other.size);
+            this.team1 = Arrays.copyOf(other.team1, other.size);
+            this.team2 = Arrays.copyOf(other.team2, other.size);
+            this.winner = Arrays.copyOf(other.winner, other.size);
+            this.court = Arrays.copyOf(other.court, other.size);
+            this.referee = Arrays.copyOf(other.referee, other.size);
+            this.complete = (BitSet) other.complete.clone();
+        }
+
+        private State copy() {
+            return new State(this);
+        }
+
+        /**
+         * Gets the slot of a match, adding an empty one for a match that was not recorded yet.
+         */
+        private int slotOf(int matchId) {
+            Integer slot = slots.get(matchId);
+            if (slot != null) return slot;
+            if (size == matchIds.length) {
+                int capacity = Math.max(16, size * 2);
+                matchIds = Arrays.copyOf(matchIds, capacity);
+                bracketIds = Arrays.copyOf(bracketIds, capacity);
+                team1 = Arrays.copyOf(team1, capacity);
+                team2 = Arrays.copyOf(team2, capacity);
+                winner = Arrays.copyOf(winner, capacity);
+                court = Arrays.copyOf(court, capacity);
+                referee = Arrays.copyOf(referee, capacity);
+            }
+            matchIds[size] = matchId;
+            bracketIds[size] = NONE;
+            team1[size] = NONE;
+            team2[size] = NONE;
+            winner[size] = NONE;
+            court[size] = NONE;
+            referee[size] = NONE;
+            slots.put(matchId, size);
+            return size++;
+        }
+
+        private void apply(MatchEvent event) {
+            int m = slotOf(event.matchId());
+            switch (event) {
+                case MatchEvent.MatchLoaded e -> {
+                    bracketIds[m] = e.bracketId();
+                    team1[m] = e.team1Id();
+                    team2[m] = e.team2Id();
+                    winner[m] = e.winnerId();
+                    complete.set(m, e.complete());
+                    court[m] = e.courtId();
+                    referee[m] = e.refereeId();
+                }
+                case MatchEvent.ResultSet e -> {
+                    winner[m] = e.winnerId();
+                    complete.set(m, e.winnerId() != NONE);
+                }
+                case MatchEvent.ResultCorrected e -> {
+                    winner[m] = e.winnerId();
+                    complete.set(m, e.winnerId() != NONE);
+                }
+                case MatchEvent.TeamSubstituted e -> {
+                    if (e.slot() == 1) {
+                        team1[m] = e.teamId();
+                    } else {
+                        team2[m] = e.teamId();
+                    }
+                }
+                case MatchEvent.CourtAssigned e -> court[m] = e.courtId();
+                case MatchEvent.RefereeAssigned e -> referee[m] = e.refereeId();
+            }
+            sequence++;
+        }
+
+        private boolean matches(MatchEvent.MatchLoaded loaded) {
+            Integer slot = slots.get(loaded.matchId());
+            if (slot == null) return false;
+            int m = slot;
+            return bracketIds[m] == loaded.bracketId() && team1[m] == loaded.team1Id() && team2[m] == loaded.team2Id()
+                    && winner[m] == loaded.winnerId() && complete.get(m) == loaded.complete()
+                    && court[m] == loaded.courtId() && referee[m] == loaded.refereeId();
+        }
+
+        /**
+         * Gets the number of events this state includes.
+         *
+         * @return The sequence number of the next event.
+         */
+        public long getSequence() { return sequence; }
+
+        /**
+         * Gets the number of matches recorded in this state.
+         *
+         * @return The match count.
+         */
+        public int getMatchCount() { return size; }
+
+        public boolean contains(int matchId) { return slots.containsKey(matchId); }
+        public int getBracketId(int matchId) { return get(bracketIds, matchId); }
+        public int getTeam1Id(int matchId) { return get(team1, matchId); }
+        public int getTeam2Id(int matchId) { return get(team2, matchId); }
+        public int getWinnerId(int matchId) { return get(winner, matchId); }
+        public int getCourtId(int matchId) { return get(court, matchId); }
+        public int getRefereeId(int matchId) { return get(referee, matchId); }
+
+        public boolean isComplete(int matchId) {
+            Integer slot = slots.get(matchId);
+            return slot != null && complete.get(slot);
+        }
+
+        private static boolean resolves(int id, IntFunction<?> lookup) {
+            return id == NONE || lookup.apply(id) != null;
+        }
+
+        private int get(int[] values, int matchId) {
+            Integer slot = slots.get(matchId);
+            return slot == null ? NONE : values[slot];
+        }
+
+        /**
+         * Writes this state onto the matches of a bracket. Teams, courts and referees are looked up
+         * in the tournament; a value that cannot be resolved is left as it is, and matches this
+         * state does not contain are not touched.
+         *
+         * @param bracket The bracket to update.
+         * @param tournament The tournament that owns the bracket.
+         * @return The number of matches that changed.
+         */
+        public int applyTo(Bracket bracket, Tournament tournament) {
+            TeamRegistry registry = tournament.getTeamRegistry();
+            Map<Integer, Court> courts = new HashMap<>();
+            for (Court c : tournament.getCourts()) courts.put(c.getCourtId(), c);
+            Map<Integer, User> referees = new HashMap<>();
+            for (User r : tournament.getReferees()) referees.put(r.getUserId(), r);
+
+            int[] changed = {0};
+            ModelTransaction.run(() -> {
+                for (Round round : bracket.getRounds()) {
+                    for (Match match : round.getMatches()) {
+                        Integer slot = slots.get(match.getMatchId());
+                        if (slot == null) continue;
+                        int m = slot;
+                        boolean dirty = false;
+                        if (teamId(match.getTeam1()) != team1[m] && resolves(team1[m], registry::get)) {
+                            match.setTeam1(team1[m] == NONE ? null : registry.get(team1[m]));
+                            dirty = true;
+                        }
+                        if (teamId(match.getTeam2()) != team2[m] && resolves(team2[m], registry::get)) {
+                            match.setTeam2(team2[m] == NONE ? null : registry.get(team2[m]));
+                            dirty = true;
+                        }
+                        if (teamId(match.getWinner()) != winner[m] && resolves(winner[m], registry::get)) {
+                            match.setWinner(winner[m] == NONE ? null : registry.get(winner[m]));
+                            dirty = true;
+                        }
+                        if (match.isComplete() != complete.get(m)) {
+                            match.setComplete(complete.get(m));
+                            dirty = true;
+                        }
+                        int courtId = match.getCourt() == null ? NONE : match.getCourt().getCourtId();
+                        if (courtId != court[m] && resolves(court[m], courts::get)) {
+                            match.setCourt(courts.get(court[m]));
+                            dirty = true;
+                        }
+                        int refereeId = match.getReferee() == null ? NONE : match.getReferee().getUserId();
+                        if (refereeId != referee[m] && resolves(referee[m], referees::get)) {
+                            match.setReferee(referees.get(referee[m]));
+                            dirty = true;
+                        }
+                        if (dirty) changed[0]++;
+                    }
+                }
+            });
+            return changed[0];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.augustana.csc305.project.model.domain;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * The revision counter of one model object.
+ *
+ * <p>The owner attaches {@link #collectionListener} to its observable collections and
+ * {@link #propertyListener} to its properties. Every change then raises the revision by one, or,
+ * inside a {@link ModelTransaction}, once when the outermost transaction commits.</p>
+ */
+final class ModelRevision {
+
+    private final ReadOnlyLongWrapper revision;
+
+    /**
+     * Listener for observable lists and maps, which report every change.
+     */
+    final InvalidationListener collectionListener = observable -> markChanged();
+
+    /**
+     * Listener for properties. A change listener is used so that every change is reported, even
+     * when nobody reads the property between two changes.
+     */
+    final ChangeListener<Object> propertyListener = (observable, oldValue, newValue) -> markChanged();
+
+    ModelRevision(Object bean) {
+        this.revision = new ReadOnlyLongWrapper(bean, "revision");
+    }
+
+    /**
+     * Records that the owner changed.
+     */
+    void markChanged() {
+        if (!ModelTransaction.defer(this)) {
+            bump();
+        }
+    }
+
+    void bump() {
+        revision.set(revision.get() + 1);
+    }
+
+    long get() {
+        return revision.get();
+    }
+
+    ReadOnlyLongProperty property() {
+        return revision.getReadOnlyProperty();
+    }
+}
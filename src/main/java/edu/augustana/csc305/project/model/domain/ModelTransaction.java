@@ -0,0 +1,131 @@
+package edu.augustana.csc305.project.model.domain;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Groups changes to the domain model so that listeners hear about them once.
+ *
+ * <p>{@link Tournament}, {@link League}, {@link Bracket} and {@link Round} each have a
+ * {@code revisionProperty()} that goes up whenever the object or anything it contains changes. A
+ * round's revision covers its matches, and a bracket's covers its rounds. Outside a transaction
+ * every change raises the revision at once. Inside one, the affected objects are only collected,
+ * and when the outermost transaction is closed each of them raises its revision exactly once, no
+ * matter how many lists or match properties changed. A view that refreshes on
+ * {@code revisionProperty()} therefore refreshes once per bulk load or propagated result instead
+ * of once per change.</p>
+ *
+ * <p>The observable lists and properties themselves still fire as usual; only revision
+ * notifications are coalesced. Transactions belong to the thread that begins them and may be
+ * nested:</p>
+ *
+ * <pre>{@code
+ * ModelTransaction.run(() -> {
+ *     tournament.getBrackets().setAll(brackets);
+ *     tournament.getTeams().setAll(teams);
+ * });
+ * }</pre>
+ */
+public final class ModelTransaction implements AutoCloseable {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The state of the outermost transaction on one thread.
+     */
+    private static final class Scope {
+        private int depth;
+        private boolean committing;
+        private final Deque<ModelRevision> pending = new ArrayDeque<>();
+        private final Set<ModelRevision> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<ModelRevision> committed = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private final Scope scope;
+    private boolean closed;
+
+    private ModelTransaction(Scope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Begins a transaction on the current thread, or joins the one already running.
+     *
+     * @return The transaction, to be closed when the changes are done.
+     */
+    public static ModelTransaction begin() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            scope = new Scope();
+            CURRENT.set(scope);
+        }
+        scope.depth++;
+        return new ModelTransaction(scope);
+    }
+
+    /**
+     * Runs an action inside a transaction.
+     *
+     * @param action The changes to make.
+     */
+    @SuppressWarnings("try")
+    public static void run(Runnable action) {
+        try (ModelTransaction tx = begin()) {
+            action.run();
+        }
+    }
+
+    /**
+     * Checks if a transaction is running on the current thread.
+     *
+     * @return {@code true} inside a transaction.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Ends this transaction. Closing the outermost transaction raises the revision of every
+     * changed object once. Changes made by revision listeners during the commit are part of the
+     * same notification.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (--scope.depth > 0) return;
+
+        scope.committing = true;
+        try {
+            while (!scope.pending.isEmpty()) {
+                ModelRevision revision = scope.pending.poll();
+                if (scope.committed.add(revision)) {
+                    revision.bump();
+                }
+            }
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Defers a revision change to the end of the current transaction.
+     *
+     * @return {@code false} if no transaction is running and the caller should raise the revision itself.
+     */
+    static boolean defer(ModelRevision revision) {
+        Scope scope = CURRENT.get();
+        if (scope == null) return false;
+        if (scope.committing) {
+            if (scope.committed.add(revision)) {
+                revision.bump();
+            }
+        } else if (scope.collected.add(revision)) {
+            scope.pending.add(revision);
+        }
+        return true;
+    }
+}
@@ -1,9 +1,21 @@
 package edu.augustana.csc305.project.model.domain;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a single round within a tournament bracket.
@@ -12,18 +24,33 @@ import java.util.List;
  * enable seamless data binding with the user interface, allowing UI components
  * to automatically update when round data changes.
  * JavaDoc fot this class was made with Gemini 2.5 Flash.
+ * <p>
+ * The round counts its completed and playable matches as results arrive, so its progress can be
+ * read or bound without walking the matches. A match is playable when both of its teams are known
+ * and it has not been completed yet.
+ * <p>
+ * Its {@link #revisionProperty() revision} goes up when matches are added or removed or any
+ * property of a match changes, once per {@link ModelTransaction}.
  */
 public class Round {
 
     private final ObservableList<Match> matches;
     private int roundId;
 
+    private final ReadOnlyIntegerWrapper totalMatches = new ReadOnlyIntegerWrapper(this, "totalMatches");
+    private final ReadOnlyIntegerWrapper completedMatches = new ReadOnlyIntegerWrapper(this, "completedMatches");
+    private final ReadOnlyIntegerWrapper playableMatches = new ReadOnlyIntegerWrapper(this, "playableMatches");
+    private final ReadOnlyDoubleWrapper completion = new ReadOnlyDoubleWrapper(this, "completion");
+    private final ReadOnlyBooleanWrapper complete = new ReadOnlyBooleanWrapper(this, "complete");
+    private final Map<Match, MatchWatcher> watchedMatches = new IdentityHashMap<>();
+    private final ModelRevision revision = new ModelRevision(this);
+
     /**
      * Constructs a new {@code Round}.
      * The round is initialized with an empty list of matches.
      */
     public Round() {
-        this.matches = FXCollections.observableArrayList();
+        this(List.of());
     }
 
     /**
@@ -33,6 +60,14 @@ public class Round {
      */
     public Round(List<Match> matches) {
         this.matches = FXCollections.observableArrayList(matches);
+        this.matches.forEach(this::watch);
+        this.matches.addListener((ListChangeListener<Match>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::unwatch);
+                change.getAddedSubList().forEach(this::watch);
+            }
+        });
+        this.matches.addListener(revision.collectionListener);
     }
 
     /**
@@ -72,4 +107,162 @@ public class Round {
             this.matches.add(match);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the number of matches in the round.
+     *
+     * @return The match count.
+     */
+    public int getTotalMatches() {
+        return totalMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty totalMatchesProperty() {
+        return totalMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of matches in the round that have a result.
+     *
+     * @return The completed match count.
+     */
+    public int getCompletedMatches() {
+        return completedMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty completedMatchesProperty() {
+        return completedMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of matches that can be played now: both teams are known and there is no result yet.
+     *
+     * @return The playable match count.
+     */
+    public int getPlayableMatches() {
+        return playableMatches.get();
+    }
+
+    public ReadOnlyIntegerProperty playableMatchesProperty() {
+        return playableMatches.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the fraction of the round's matches that are completed.
+     *
+     * @return A value between 0 and 1; 0 for an empty round.
+     */
+    public double getCompletion() {
+        return completion.get();
+    }
+
+    public ReadOnlyDoubleProperty completionProperty() {
+        return completion.getReadOnlyProperty();
+    }
+
+    /**
+     * Checks if every match in the round is completed.
+     *
+     * @return {@code true} if the round has matches and all of them are complete.
+     */
+    public boolean isComplete() {
+        return complete.get();
+    }
+
+    public ReadOnlyBooleanProperty completeProperty() {
+        return complete.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the revision of the round.
+     *
+     * @return A number that goes up whenever the round or one of its matches changes.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public ReadOnlyLongProperty revisionProperty() {
+        return revision.property();
+    }
+
+    private void watch(Match match) {
+        MatchWatcher existing = watchedMatches.get(match);
+        if (existing != null) {
+            existing.occurrences++;
+            return;
+        }
+        MatchWatcher watcher = new MatchWatcher(match);
+        watchedMatches.put(match, watcher);
+        match.isCompleteProperty().addListener(watcher);
+        match.team1Property().addListener(watcher);
+        match.team2Property().addListener(watcher);
+        match.team1Property().addListener(revision.propertyListener);
+        match.team2Property().addListener(revision.propertyListener);
+        match.winnerProperty().addListener(revision.propertyListener);
+        match.isCompleteProperty().addListener(revision.propertyListener);
+        match.courtProperty().addListener(revision.propertyListener);
+        match.refereeProperty().addListener(revision.propertyListener);
+        totalMatches.set(totalMatches.get() + 1);
+        watcher.invalidated(null);
+    }
+
+    private void unwatch(Match match) {
+        MatchWatcher watcher = watchedMatches.get(match);
+        if (watcher == null || --watcher.occurrences > 0) return;
+        watchedMatches.remove(match);
+        match.isCompleteProperty().removeListener(watcher);
+        match.team1Property().removeListener(watcher);
+        match.team2Property().removeListener(watcher);
+        match.team1Property().removeListener(revision.propertyListener);
+        match.team2Property().removeListener(revision.propertyListener);
+        match.winnerProperty().removeListener(revision.propertyListener);
+        match.isCompleteProperty().removeListener(revision.propertyListener);
+        match.courtProperty().removeListener(revision.propertyListener);
+        match.refereeProperty().removeListener(revision.propertyListener);
+        watcher.count(false, false);
+        totalMatches.set(totalMatches.get() - 1);
+        updateCompletion();
+    }
+
+    private void updateCompletion() {
+        int total = totalMatches.get();
+        int completed = completedMatches.get();
+        completion.set(total == 0 ? 0 : (double) completed / total);
+        complete.set(total > 0 && completed == total);
+    }
+
+    /**
+     * Remembers what one match currently contributes to the counters and moves it between them
+     * when its result or teams change.
+     */
+    private final class MatchWatcher implements InvalidationListener {
+        private final Match match;
+        private int occurrences = 1;
+        private boolean countedComplete;
+        private boolean countedPlayable;
+
+        private MatchWatcher(Match match) {
+            this.match = match;
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            boolean isComplete = match.isComplete();
+            boolean isPlayable = !isComplete && match.getTeam1() != null && match.getTeam2() != null;
+            count(isComplete, isPlayable);
+            updateCompletion();
+        }
+
+        private void count(boolean isComplete, boolean isPlayable) {
+            if (isComplete != countedComplete) {
+                completedMatches.set(completedMatches.get() + (isComplete ? 1 : -1));
+                countedComplete = isComplete;
+            }
+            if (isPlayable != countedPlayable) {
+                playableMatches.set(playableMatches.get() + (isPlayable ? 1 : -1));
+                countedPlayable = isPlayable;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package edu.augustana.csc305.project.model.domain;
+
+import javafx.application.Platform;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out exactly one {@link Team} instance per team ID within a tournament.
+ *
+ * <p>Every place that turns API data into teams asks the registry instead of constructing a new
+ * {@code Team}, so the same team appearing as {@code team1}, {@code winner} or inside a source
+ * match is one object, and teams can be compared by identity. When a team arrives with a new
+ * name, the existing instance is renamed in place so every bound label updates.</p>
+ *
+ * <p>Teams are held through weak references: once nothing in the tournament's brackets, lists
+ * or views refers to a team, it can be collected, and the registry itself goes away with the
+ * {@link Tournament} that owns it.</p>
+ */
+public class TeamRegistry {
+
+    private final Map<Integer, TeamReference> teams = new HashMap<>();
+    private final ReferenceQueue<Team> collected = new ReferenceQueue<>();
+
+    /**
+     * A weak reference that remembers its key, so cleared entries can be removed from the map.
+     */
+    private static final class TeamReference extends WeakReference<Team> {
+        private final int teamId;
+
+        private TeamReference(Team team, ReferenceQueue<Team> queue) {
+            super(team, queue);
+            this.teamId = team.getTeamId();
+        }
+    }
+
+    /**
+     * Returns the canonical team for an ID, creating it on first use. If the team is already known
+     * under a different name, it is renamed in place.
+     *
+     * @param teamId The team's database ID. An ID of 0 (an unsaved team) is never shared.
+     * @param name The team's current name.
+     * @return The single {@code Team} instance for this ID.
+     */
+    public synchronized Team intern(int teamId, String name) {
+        if (teamId == 0) {
+            return new Team(name);
+        }
+        expungeCollected();
+
+        TeamReference reference = teams.get(teamId);
+        Team team = reference == null ? null : reference.get();
+        if (team == null) {
+            team = new Team(name);
+            team.setTeamId(teamId);
+            teams.put(teamId, new TeamReference(team, collected));
+        } else if (name != null && !name.equals(team.getTeamName())) {
+            rename(team, name);
+        }
+        return team;
+    }
+
+    /**
+     * Looks up the canonical team for an ID without creating one.
+     *
+     * @param teamId The team's database ID.
+     * @return The team, or {@code null} if it is not currently registered.
+     */
+    public synchronized Team get(int teamId) {
+        expungeCollected();
+        TeamReference reference = teams.get(teamId);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Gets the number of teams currently registered.
+     *
+     * @return The number of live teams.
+     */
+    public synchronized int size() {
+        expungeCollected();
+        return teams.size();
+    }
+
+    /**
+     * Team names are bound to UI labels, so renames coming from a background thread are applied
+     * on the JavaFX application thread.
+     */
+    private static void rename(Team team, String name) {
+        if (Platform.isFxApplicationThread()) {
+            team.setTeamName(name);
+            return;
+        }
+        try {
+            Platform.runLater(() -> team.setTeamName(name));
+        } catch (IllegalStateException toolkitNotRunning) {
+            team.setTeamName(name);
+        }
+    }
+
+    private void expungeCollected() {
+        TeamReference reference;
+        while ((reference = (TeamReference) collected.poll()) != null) {
+            teams.remove(reference.teamId, reference);
+        }
+    }
+}
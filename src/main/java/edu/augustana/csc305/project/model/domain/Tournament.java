@@ -1,10 +1,16 @@
 package edu.augustana.csc305.project.model.domain;
 
+import javafx.beans.property.ReadOnlyLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 
 /**
  * Represents a tournament containing teams, referees, courts, and brackets.
@@ -12,6 +18,9 @@ import javafx.collections.ObservableList;
  * This class uses JavaFX properties for data binding with UI components,
  * allowing automatic updates when data changes.
  * JavaDoc by Gemini 2.5 Pro.
+ * <p>
+ * Its {@link #revisionProperty() revision} goes up when the name or any of its lists change, once
+ * per {@link ModelTransaction}. Changes inside a bracket are reported by the bracket's own revision.
  */
 public class Tournament {
 
@@ -20,6 +29,9 @@ public class Tournament {
     private final ObservableList<User> referees;
     private final ObservableList<Court> courts;
     private final ObservableList<Team> teams;
+    private final TeamRegistry teamRegistry;
+    private final MatchEventJournal eventJournal;
+    private final ModelRevision revision = new ModelRevision(this);
     private int tournamentId;
     private int leagueId;
 
@@ -35,6 +47,18 @@ public class Tournament {
         this.referees = FXCollections.observableArrayList();
         this.courts = FXCollections.observableArrayList();
         this.teams = FXCollections.observableArrayList();
+        this.teamRegistry = new TeamRegistry();
+        this.eventJournal = new MatchEventJournal();
+        this.brackets.addListener((ListChangeListener<Bracket>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(eventJournal::track);
+            }
+        });
+        this.tournamentName.addListener(revision.propertyListener);
+        this.brackets.addListener(revision.collectionListener);
+        this.referees.addListener(revision.collectionListener);
+        this.courts.addListener(revision.collectionListener);
+        this.teams.addListener(revision.collectionListener);
     }
 
     /**
@@ -91,6 +115,39 @@ public class Tournament {
         return teams;
     }
 
+    /**
+     * Returns the registry that provides the single {@code Team} instance for each team ID
+     * in this tournament. All API data for this tournament should be mapped through it.
+     *
+     * @return The tournament's {@code TeamRegistry}.
+     */
+    public TeamRegistry getTeamRegistry() {
+        return teamRegistry;
+    }
+
+    /**
+     * Gets the revision of the tournament.
+     *
+     * @return A number that goes up whenever the tournament's name or lists change.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public ReadOnlyLongProperty revisionProperty() {
+        return revision.property();
+    }
+
+    /**
+     * Gets the journal of match changes in this tournament. Every bracket added to the tournament
+     * is tracked in it.
+     *
+     * @return The tournament's {@link MatchEventJournal}.
+     */
+    public MatchEventJournal getEventJournal() {
+        return eventJournal;
+    }
+
     /**
      * Attempts to add a team to the tournament.
      *
@@ -131,6 +188,58 @@ public class Tournament {
         }
     }
 
+    /**
+     * Merges a bracket loaded from the server into the tournament and records the resulting state in
+     * the {@link #getEventJournal() journal}. A bracket with the same ID is patched in place with a
+     * {@link BracketDiff} when its shape is unchanged, so the live {@code Bracket} object and
+     * everything bound to it survive; otherwise it is replaced. A new bracket is added.
+     *
+     * <p>Matches with updates that have not reached the server yet keep their live fields when the
+     * bracket is patched, so a reload does not revert them to the server's older copy.</p>
+     *
+     * @param fresh The bracket as loaded from the server.
+     * @param pendingMatchIds The IDs of the matches with updates the server has not accepted yet.
+     * @return The live matches the server changed if the bracket was patched in place; otherwise empty.
+     */
+    public List<Match> mergeBracket(Bracket fresh, Set<Integer> pendingMatchIds) {
+        for (int i = 0; i < brackets.size(); i++) {
+            Bracket live = brackets.get(i);
+            if (live.getBracketId() != fresh.getBracketId()) continue;
+
+            BracketDiff diff = BracketDiff.of(live, fresh, pendingMatchIds);
+            if (!diff.isPatchable()) {
+                eventJournal.track(fresh);
+                brackets.set(i, fresh);
+                return List.of();
+            }
+            List<Match> changed = diff.isEmpty() ? List.of() : diff.apply();
+            eventJournal.track(live);
+            return changed;
+        }
+        eventJournal.track(fresh);
+        brackets.add(fresh);
+        return List.of();
+    }
+
+    /**
+     * Merges a full set of brackets loaded from the server, as {@link #mergeBracket(Bracket, Set)}
+     * does for each one, and removes the brackets the server no longer returns. All changes are made
+     * in one {@link ModelTransaction}.
+     *
+     * @param loaded Every bracket of the tournament, as loaded from the server.
+     * @param pendingMatchIds The IDs of the matches with updates the server has not accepted yet.
+     */
+    public void mergeBrackets(List<Bracket> loaded, Set<Integer> pendingMatchIds) {
+        ModelTransaction.run(() -> {
+            Set<Integer> loadedIds = new HashSet<>();
+            for (Bracket fresh : loaded) {
+                loadedIds.add(fresh.getBracketId());
+                mergeBracket(fresh, pendingMatchIds);
+            }
+            brackets.removeIf(bracket -> !loadedIds.contains(bracket.getBracketId()));
+        });
+    }
+
     /**
      * Returns the observable list of all referees in the tournament.
      *
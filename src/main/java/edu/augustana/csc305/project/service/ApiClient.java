@@ -12,7 +12,10 @@ import retrofit2.converter.gson.GsonConverterFactory;
  *
  * <p>This class handles the configuration of OkHttp, including adding a dynamic
  * JWT Bearer token interceptor for authenticated requests, ensuring the token
- * is automatically attached to requests after a successful login.</p>
+ * is automatically attached to requests after a successful login. Identical GET requests
+ * issued at the same time are coalesced into a single round trip by a {@link RequestCoalescer},
+ * and read responses are cached and revalidated by an {@link ApiResponseCache}. Timings of every
+ * call are recorded per endpoint by {@link NetworkMetrics}.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
  */
@@ -21,6 +24,9 @@ public class ApiClient {
 
     private static ApiClient instance;
     private final KronosApi kronosApi;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final ApiResponseCache responseCache = new ApiResponseCache();
+    private final NetworkMetrics networkMetrics = new NetworkMetrics();
     private String jwtToken = null;
 
     private ApiClient() {
@@ -37,11 +43,14 @@ public class ApiClient {
 
         OkHttpClient okHttpClient = new OkHttpClient.Builder()
                 .addInterceptor(authInterceptor)
+                .addInterceptor(responseCache)
+                .eventListenerFactory(networkMetrics)
                 .build();
 
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(BASE_URL)
                 .client(okHttpClient)
+                .addCallAdapterFactory(new CoalescingCallAdapterFactory(requestCoalescer))
                 .addConverterFactory(GsonConverterFactory.create())
                 .build();
 
@@ -69,6 +78,33 @@ public class ApiClient {
         return kronosApi;
     }
 
+    /**
+     * Returns the coalescer that shares identical in-flight GET requests, for reading its hit/miss counters.
+     *
+     * @return The RequestCoalescer used by this client.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Returns the response cache used for the read endpoints, for reading its statistics.
+     *
+     * @return The ApiResponseCache used by this client.
+     */
+    public ApiResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Returns the per-endpoint network timings recorded for this client.
+     *
+     * @return The NetworkMetrics used by this client.
+     */
+    public NetworkMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
+
     /**
      * Stores the JWT token received after a successful login.
      * This token will be automatically added to subsequent requests.
@@ -77,6 +113,7 @@ public class ApiClient {
      */
     public void setToken(String token) {
         this.jwtToken = token;
+        responseCache.clear();
     }
 
     /**
@@ -84,6 +121,7 @@ public class ApiClient {
      */
     public void clearToken() {
         this.jwtToken = null;
+        responseCache.clear();
     }
 
     /**
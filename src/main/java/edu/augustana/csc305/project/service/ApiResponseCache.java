@@ -0,0 +1,364 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.config.ApplicationConfig;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OkHttp interceptor that caches responses of the read endpoints in {@link KronosApi}.
+ *
+ * <p>Each read route has its own time-to-live. While an entry is fresh it is served without touching
+ * the network. Once it goes stale, the request is sent with {@code If-None-Match} when the server
+ * supplied an {@code ETag}; a {@code 304 Not Modified} answer renews the entry and the cached body is
+ * served. Successful write requests invalidate the read routes they affect, scoped by shared path
+ * variables such as {@code tournamentId}. Entries are kept in least-recently-used order and evicted
+ * once the total cached body size exceeds {@code CACHE_MAX_BYTES}. A read that was already in flight
+ * when a write invalidated the cache is passed through but not stored, so the pre-write body is not
+ * served for the rest of its TTL.</p>
+ *
+ * <p>TTLs can be overridden per route with {@code CACHE_TTL_<ROUTE>} properties (in seconds),
+ * e.g. {@code CACHE_TTL_GET_TOURNAMENT_BRACKETS=10}. A TTL of 0 disables caching for that route.
+ * Requests sent with {@code Cache-Control: no-store}, such as streamed bracket loads, always go to
+ * the network and their bodies are passed through untouched.</p>
+ */
+public class ApiResponseCache implements Interceptor {
+
+    private static final int DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+
+    private static final Map<ApiRoute, Integer> DEFAULT_TTL_SECONDS = new EnumMap<>(ApiRoute.class);
+    private static final Map<ApiRoute, Set<ApiRoute>> INVALIDATES = new EnumMap<>(ApiRoute.class);
+
+    static {
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_USERS, 120);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_LEAGUES, 300);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_LEAGUE_STANDINGS, 60);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENTS, 300);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT, 300);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT_STANDINGS, 60);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TEAMS, 120);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT_TEAMS, 120);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT_COURTS, 120);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT_REFEREES, 120);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_TOURNAMENT_BRACKETS, 30);
+        DEFAULT_TTL_SECONDS.put(ApiRoute.GET_MATCH, 15);
+
+        INVALIDATES.put(ApiRoute.LOGIN, EnumSet.noneOf(ApiRoute.class));
+        INVALIDATES.put(ApiRoute.CREATE_USER, EnumSet.of(ApiRoute.GET_USERS));
+        INVALIDATES.put(ApiRoute.UPDATE_USER, EnumSet.of(ApiRoute.GET_USERS, ApiRoute.GET_TOURNAMENT_REFEREES,
+                ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_MATCH));
+
+        INVALIDATES.put(ApiRoute.CREATE_LEAGUE, EnumSet.of(ApiRoute.GET_LEAGUES));
+        INVALIDATES.put(ApiRoute.DELETE_LEAGUE, EnumSet.of(ApiRoute.GET_LEAGUES, ApiRoute.GET_LEAGUE_STANDINGS,
+                ApiRoute.GET_TOURNAMENTS, ApiRoute.GET_TEAMS));
+
+        INVALIDATES.put(ApiRoute.CREATE_TOURNAMENT, EnumSet.of(ApiRoute.GET_TOURNAMENTS));
+        INVALIDATES.put(ApiRoute.DELETE_TOURNAMENT, EnumSet.of(ApiRoute.GET_TOURNAMENTS, ApiRoute.GET_TOURNAMENT,
+                ApiRoute.GET_TOURNAMENT_STANDINGS, ApiRoute.GET_TOURNAMENT_TEAMS, ApiRoute.GET_TOURNAMENT_COURTS,
+                ApiRoute.GET_TOURNAMENT_REFEREES, ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_LEAGUE_STANDINGS));
+        INVALIDATES.put(ApiRoute.REPLACE_TOURNAMENT_STANDINGS, EnumSet.of(ApiRoute.GET_TOURNAMENT_STANDINGS,
+                ApiRoute.GET_LEAGUE_STANDINGS));
+
+        INVALIDATES.put(ApiRoute.CREATE_TOURNAMENT_TEAM, EnumSet.of(ApiRoute.GET_TOURNAMENT_TEAMS, ApiRoute.GET_TEAMS,
+                ApiRoute.GET_TOURNAMENT));
+        INVALIDATES.put(ApiRoute.DELETE_TOURNAMENT_TEAM, EnumSet.of(ApiRoute.GET_TOURNAMENT_TEAMS, ApiRoute.GET_TEAMS,
+                ApiRoute.GET_TOURNAMENT, ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_MATCH));
+
+        INVALIDATES.put(ApiRoute.CREATE_TOURNAMENT_COURT, EnumSet.of(ApiRoute.GET_TOURNAMENT_COURTS, ApiRoute.GET_TOURNAMENT));
+        INVALIDATES.put(ApiRoute.DELETE_TOURNAMENT_COURT, EnumSet.of(ApiRoute.GET_TOURNAMENT_COURTS, ApiRoute.GET_TOURNAMENT,
+                ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_MATCH));
+
+        INVALIDATES.put(ApiRoute.ADD_TOURNAMENT_REFEREE, EnumSet.of(ApiRoute.GET_TOURNAMENT_REFEREES, ApiRoute.GET_TOURNAMENT));
+        INVALIDATES.put(ApiRoute.REMOVE_TOURNAMENT_REFEREE, EnumSet.of(ApiRoute.GET_TOURNAMENT_REFEREES, ApiRoute.GET_TOURNAMENT,
+                ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_MATCH));
+
+        INVALIDATES.put(ApiRoute.CREATE_BRACKET, EnumSet.of(ApiRoute.GET_TOURNAMENT_BRACKETS, ApiRoute.GET_TOURNAMENT));
+        INVALIDATES.put(ApiRoute.UPDATE_MATCH, EnumSet.of(ApiRoute.GET_MATCH, ApiRoute.GET_TOURNAMENT_BRACKETS));
+        INVALIDATES.put(ApiRoute.UPDATE_MATCHES, EnumSet.of(ApiRoute.GET_MATCH, ApiRoute.GET_TOURNAMENT_BRACKETS));
+    }
+
+    /**
+     * A cached response body together with the metadata needed to serve or revalidate it.
+     */
+    private static final class Entry {
+        private final ApiRoute route;
+        private final Map<String, String> pathVariables;
+        private final byte[] body;
+        private final MediaType contentType;
+        private final Headers headers;
+        private final String etag;
+        private volatile long storedAtNanos;
+
+        private Entry(ApiRoute route, Map<String, String> pathVariables, byte[] body, MediaType contentType,
+                      Headers headers, String etag) {
+            this.route = route;
+            this.pathVariables = pathVariables;
+            this.body = body;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.etag = etag;
+            this.storedAtNanos = System.nanoTime();
+        }
+    }
+
+    private final Map<ApiRoute, Long> ttlNanos = new EnumMap<>(ApiRoute.class);
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+    /**
+     * Raised by every invalidation; a read only stores its response if no invalidation happened
+     * while it was in flight.
+     */
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a cache using the TTL and size settings from {@link ApplicationConfig}.
+     */
+    public ApiResponseCache() {
+        for (Map.Entry<ApiRoute, Integer> ttl : DEFAULT_TTL_SECONDS.entrySet()) {
+            int seconds = ApplicationConfig.getIntProperty("CACHE_TTL_" + ttl.getKey().name(), ttl.getValue());
+            ttlNanos.put(ttl.getKey(), TimeUnit.SECONDS.toNanos(Math.max(0, seconds)));
+        }
+        this.maxBytes = Math.max(0, ApplicationConfig.getIntProperty("CACHE_MAX_BYTES", DEFAULT_MAX_BYTES));
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String path = request.url().encodedPath();
+        ApiRoute route = ApiRoute.match(request.method(), path);
+
+        if (!"GET".equals(request.method())) {
+            Response response = chain.proceed(request);
+            if (response.isSuccessful()) {
+                invalidateFor(route, route == null ? Map.of() : route.pathVariables(path));
+            }
+            return response;
+        }
+
+        Long ttl = route == null ? null : ttlNanos.get(route);
+        if (ttl == null || ttl == 0 || request.cacheControl().noStore()) {
+            return chain.proceed(request);
+        }
+
+        String key = cacheKey(request);
+        Entry cached;
+        long startGeneration;
+        synchronized (this) {
+            cached = entries.get(key);
+            startGeneration = generation;
+        }
+
+        if (cached != null && System.nanoTime() - cached.storedAtNanos < ttl) {
+            hits.incrementAndGet();
+            return fromEntry(request, cached);
+        }
+
+        Request outgoing = request;
+        if (cached != null && cached.etag != null) {
+            outgoing = request.newBuilder().header("If-None-Match", cached.etag).build();
+        }
+
+        Response response = chain.proceed(outgoing);
+
+        if (response.code() == 304 && cached != null) {
+            response.close();
+            cached.storedAtNanos = System.nanoTime();
+            revalidations.incrementAndGet();
+            return fromEntry(request, cached);
+        }
+
+        misses.incrementAndGet();
+        if (response.code() != 200 || response.body() == null) {
+            return response;
+        }
+
+        ResponseBody body = response.body();
+        if (body.contentLength() > maxBytes / 4) {
+            // Too large to cache: pass it through without buffering a copy.
+            return response;
+        }
+        MediaType contentType = body.contentType();
+        byte[] bytes = body.bytes();
+        store(key, new Entry(route, route.pathVariables(path), bytes, contentType,
+                response.headers(), response.header("ETag")), startGeneration);
+
+        return response.newBuilder()
+                .request(request)
+                .body(ResponseBody.create(bytes, contentType))
+                .build();
+    }
+
+    /**
+     * The cache key is the full URL plus the requested representation, so negotiated formats
+     * of the same resource do not overwrite each other.
+     */
+    private static String cacheKey(Request request) {
+        String accept = request.header("Accept");
+        return accept == null ? request.url().toString() : request.url() + "|" + accept;
+    }
+
+    private static Response fromEntry(Request request, Entry entry) {
+        long now = System.currentTimeMillis();
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .headers(entry.headers)
+                .body(ResponseBody.create(entry.body, entry.contentType))
+                .sentRequestAtMillis(now)
+                .receivedResponseAtMillis(now)
+                .build();
+    }
+
+    private synchronized void store(String key, Entry entry, long startGeneration) {
+        if (entry.body.length > maxBytes / 4 || generation != startGeneration) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            currentBytes -= previous.body.length;
+        }
+        currentBytes += entry.body.length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            currentBytes -= evicted.body.length;
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the cached reads affected by a successful write. Unknown write routes clear everything,
+     * since their effect cannot be predicted.
+     */
+    private synchronized void invalidateFor(ApiRoute writeRoute, Map<String, String> writeVariables) {
+        Set<ApiRoute> affected = writeRoute == null ? null : INVALIDATES.get(writeRoute);
+        if (affected == null) {
+            clear();
+            return;
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        generation++;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (affected.contains(entry.route) && sharesScope(writeVariables, entry.pathVariables)) {
+                it.remove();
+                currentBytes -= entry.body.length;
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Two requests share a scope unless they name the same path variable with different values
+     * (e.g. a write to tournament 3 leaves tournament 4's cached teams alone).
+     */
+    private static boolean sharesScope(Map<String, String> writeVariables, Map<String, String> readVariables) {
+        for (Map.Entry<String, String> variable : writeVariables.entrySet()) {
+            String other = readVariables.get(variable.getKey());
+            if (other != null && !other.equals(variable.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every cached entry. Called when the logged-in user changes.
+     */
+    public synchronized void clear() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * Gets the number of requests served from a fresh entry without any network traffic.
+     *
+     * @return The cache hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of stale entries confirmed unchanged by a {@code 304} response.
+     *
+     * @return The revalidation count.
+     */
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    /**
+     * Gets the number of cacheable requests that required a full download.
+     *
+     * @return The cache miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the size budget.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of entries dropped because a write made them out of date.
+     *
+     * @return The invalidation count.
+     */
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    /**
+     * Gets the total size of the cached response bodies.
+     *
+     * @return The cached size in bytes.
+     */
+    public synchronized long getSizeBytes() {
+        return currentBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ApiResponseCache[entries=" + entries.size() + ", bytes=" + currentBytes + "/" + maxBytes
+                + ", hits=" + getHitCount() + ", revalidated=" + getRevalidationCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", invalidations=" + getInvalidationCount() + "]";
+    }
+}
@@ -0,0 +1,149 @@
+package edu.augustana.csc305.project.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Enumerates every endpoint declared in {@link KronosApi} as an HTTP method and path template.
+ *
+ * <p>Interceptors and listeners working at the OkHttp level only see raw URLs; this enum lets them
+ * recognise which logical endpoint a request belongs to (and extract its path variables) without
+ * parsing the URL by hand in each place.</p>
+ */
+public enum ApiRoute {
+    LOGIN("POST", "auth/login"),
+    CREATE_USER("POST", "api/users"),
+    GET_USERS("GET", "api/users"),
+    UPDATE_USER("PATCH", "api/users/{id}"),
+
+    GET_LEAGUES("GET", "api/leagues"),
+    CREATE_LEAGUE("POST", "api/leagues"),
+    DELETE_LEAGUE("DELETE", "api/leagues/{leagueId}"),
+    GET_LEAGUE_STANDINGS("GET", "api/leagues/{leagueId}/standings"),
+
+    GET_TOURNAMENTS("GET", "api/tournaments"),
+    CREATE_TOURNAMENT("POST", "api/tournaments"),
+    GET_TOURNAMENT("GET", "api/tournaments/{tournamentId}"),
+    DELETE_TOURNAMENT("DELETE", "api/tournaments/{tournamentId}"),
+    GET_TOURNAMENT_STANDINGS("GET", "api/tournaments/{tournamentId}/standings"),
+    REPLACE_TOURNAMENT_STANDINGS("PUT", "api/tournaments/{tournamentId}/standings"),
+
+    GET_TEAMS("GET", "api/teams"),
+    GET_TOURNAMENT_TEAMS("GET", "api/tournaments/{tournamentId}/teams"),
+    CREATE_TOURNAMENT_TEAM("POST", "api/tournaments/{tournamentId}/teams"),
+    DELETE_TOURNAMENT_TEAM("DELETE", "api/tournaments/{tournamentId}/teams/{teamId}"),
+
+    GET_TOURNAMENT_COURTS("GET", "api/tournaments/{tournamentId}/courts"),
+    CREATE_TOURNAMENT_COURT("POST", "api/tournaments/{tournamentId}/courts"),
+    DELETE_TOURNAMENT_COURT("DELETE", "api/tournaments/{tournamentId}/courts/{courtId}"),
+
+    GET_TOURNAMENT_REFEREES("GET", "api/tournaments/{tournamentId}/referees"),
+    ADD_TOURNAMENT_REFEREE("POST", "api/tournaments/{tournamentId}/referees"),
+    REMOVE_TOURNAMENT_REFEREE("DELETE", "api/tournaments/{tournamentId}/referees/{userId}"),
+
+    GET_TOURNAMENT_BRACKETS("GET", "api/tournaments/{tournamentId}/brackets"),
+    CREATE_BRACKET("POST", "api/brackets"),
+    GET_MATCH("GET", "api/matches/{matchId}"),
+    UPDATE_MATCH("PATCH", "api/matches/{matchId}"),
+    UPDATE_MATCHES("PATCH", "api/matches");
+
+    private final String method;
+    private final String template;
+    private final Pattern pattern;
+    private final List<String> variables;
+
+    ApiRoute(String method, String template) {
+        this.method = method;
+        this.template = template;
+
+        List<String> names = new ArrayList<>();
+        StringBuilder regex = new StringBuilder("^(?:/.*)?/");
+        Matcher matcher = Pattern.compile("\\{([^/}]+)}").matcher(template);
+        int last = 0;
+        while (matcher.find()) {
+            regex.append(Pattern.quote(template.substring(last, matcher.start())));
+            regex.append("([^/]+)");
+            names.add(matcher.group(1));
+            last = matcher.end();
+        }
+        regex.append(Pattern.quote(template.substring(last))).append("/?$");
+
+        this.pattern = Pattern.compile(regex.toString());
+        this.variables = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Finds the route matching a request.
+     *
+     * @param method The HTTP method (e.g. "GET").
+     * @param encodedPath The request's URL path, e.g. {@code /api/tournaments/4/teams}.
+     * @return The matching route, or {@code null} if the request is not a known endpoint.
+     */
+    public static ApiRoute match(String method, String encodedPath) {
+        for (ApiRoute route : values()) {
+            if (route.method.equals(method) && route.pattern.matcher(encodedPath).matches()) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the values of this route's path variables from a concrete path.
+     *
+     * @param encodedPath A path previously matched by this route.
+     * @return A map of variable name to value; empty if the route has no variables or the path does not match.
+     */
+    public Map<String, String> pathVariables(String encodedPath) {
+        if (variables.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Matcher matcher = pattern.matcher(encodedPath);
+        if (!matcher.matches()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            values.put(variables.get(i), matcher.group(i + 1));
+        }
+        return values;
+    }
+
+    /**
+     * Gets the HTTP method of this route.
+     *
+     * @return The HTTP method.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the path template of this route. Path variables are named consistently across routes
+     * (e.g. {@code tournamentId}), so values extracted from different routes can be compared.
+     *
+     * @return The path template, e.g. {@code api/tournaments/{tournamentId}/teams}.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Checks whether this route is a read (GET) endpoint.
+     *
+     * @return True for GET routes.
+     */
+    public boolean isRead() {
+        return "GET".equals(method);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + template;
+    }
+}
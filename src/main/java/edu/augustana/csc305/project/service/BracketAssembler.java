@@ -0,0 +1,250 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.model.api.BracketDTO;
+import edu.augustana.csc305.project.model.api.BracketFlatDTO;
+import edu.augustana.csc305.project.model.api.CourtDTO;
+import edu.augustana.csc305.project.model.api.MatchDTO;
+import edu.augustana.csc305.project.model.api.MatchFlatDTO;
+import edu.augustana.csc305.project.model.api.RoundDTO;
+import edu.augustana.csc305.project.model.api.RoundFlatDTO;
+import edu.augustana.csc305.project.model.api.TeamDTO;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.Court;
+import edu.augustana.csc305.project.model.domain.Match;
+import edu.augustana.csc305.project.model.domain.Round;
+import edu.augustana.csc305.project.model.domain.Team;
+import edu.augustana.csc305.project.model.domain.TeamRegistry;
+import edu.augustana.csc305.project.model.domain.User;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link Bracket} domain graphs from the API's bracket DTOs.
+ *
+ * <p>This is the single place where bracket DTOs are mapped; the controllers and
+ * {@link BracketDecoder} all go through it. Nested {@link MatchDTO}s are walked with an explicit
+ * work stack rather than recursion, so deep brackets cannot overflow the call stack. A match-ID
+ * table ensures every match is created and visited exactly once: when a repeated copy of a match
+ * is found inside a later match's subtree, the copy and everything below it are skipped. Source
+ * links are wired in a second pass over the table.</p>
+ *
+ * <p>Teams are obtained from a {@link TeamRegistry}, normally the tournament's, so each team ID maps
+ * to one {@link Team} instance across all brackets. Rounds are always ordered by round ID. Brackets
+ * are independent of each other, so a list of large brackets can be assembled in parallel.</p>
+ */
+public final class BracketAssembler {
+
+    /**
+     * Below this many top-level matches in total, a parallel split costs more than it saves.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private BracketAssembler() {}
+
+    /**
+     * Assembles a list of nested brackets, in parallel when they are large enough to benefit.
+     *
+     * @param dtos The bracket DTOs from the API; may be {@code null}.
+     * @param registry The registry providing canonical teams.
+     * @return The assembled brackets, in the same order as the DTOs.
+     */
+    public static List<Bracket> assembleAll(List<BracketDTO> dtos, TeamRegistry registry) {
+        if (dtos == null) return Collections.emptyList();
+        int topLevelMatches = 0;
+        for (BracketDTO dto : dtos) {
+            if (dto.getRounds() == null) continue;
+            for (RoundDTO round : dto.getRounds()) {
+                if (round.getMatches() != null) topLevelMatches += round.getMatches().size();
+            }
+        }
+        return assembleAll(dtos, registry, dtos.size() > 1 && topLevelMatches >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Assembles a list of nested brackets.
+     *
+     * @param dtos The bracket DTOs from the API; may be {@code null}.
+     * @param registry The registry providing canonical teams.
+     * @param parallel Whether to assemble the brackets concurrently.
+     * @return The assembled brackets, in the same order as the DTOs.
+     */
+    public static List<Bracket> assembleAll(List<BracketDTO> dtos, TeamRegistry registry, boolean parallel) {
+        if (dtos == null) return Collections.emptyList();
+        if (parallel) {
+            return dtos.parallelStream().map(dto -> assemble(dto, registry)).toList();
+        }
+        List<Bracket> brackets = new ArrayList<>(dtos.size());
+        for (BracketDTO dto : dtos) {
+            brackets.add(assemble(dto, registry));
+        }
+        return brackets;
+    }
+
+    /**
+     * Assembles one nested bracket.
+     *
+     * @param dto The bracket DTO from the API.
+     * @param registry The registry providing canonical teams.
+     * @return The assembled bracket.
+     */
+    public static Bracket assemble(BracketDTO dto, TeamRegistry registry) {
+        Bracket bracket = new Bracket(dto.getName(), dto.getType());
+        bracket.setBracketId(dto.getBracketId());
+
+        List<RoundDTO> sortedRounds = dto.getRounds() == null ? new ArrayList<>() : new ArrayList<>(dto.getRounds());
+        sortedRounds.sort(Comparator.comparingInt(RoundDTO::getRoundId));
+
+        Map<Integer, Match> matches = new HashMap<>();
+        List<MatchDTO> visited = new ArrayList<>();
+        Deque<MatchDTO> work = new ArrayDeque<>();
+
+        for (RoundDTO rDto : sortedRounds) {
+            Round round = new Round();
+            round.setRoundId(rDto.getRoundId());
+            if (rDto.getMatches() != null) {
+                for (MatchDTO mDto : rDto.getMatches()) {
+                    if (mDto == null) continue;
+                    work.push(mDto);
+                    drain(work, matches, visited, registry);
+                    round.addMatch(matches.get(mDto.getMatchId()));
+                }
+            }
+            bracket.addRound(round);
+        }
+
+        for (MatchDTO mDto : visited) {
+            Match match = matches.get(mDto.getMatchId());
+            if (mDto.getSourceMatch1() != null) match.setSourceMatch1(matches.get(mDto.getSourceMatch1().getMatchId()));
+            if (mDto.getSourceMatch2() != null) match.setSourceMatch2(matches.get(mDto.getSourceMatch2().getMatchId()));
+        }
+        return bracket;
+    }
+
+    /**
+     * Creates a Match for every not-yet-seen DTO reachable from the work stack.
+     */
+    private static void drain(Deque<MatchDTO> work, Map<Integer, Match> matches, List<MatchDTO> visited,
+                              TeamRegistry registry) {
+        while (!work.isEmpty()) {
+            MatchDTO dto = work.pop();
+            if (matches.containsKey(dto.getMatchId())) {
+                continue;
+            }
+            matches.put(dto.getMatchId(), toMatch(dto, registry));
+            visited.add(dto);
+            if (dto.getSourceMatch2() != null) work.push(dto.getSourceMatch2());
+            if (dto.getSourceMatch1() != null) work.push(dto.getSourceMatch1());
+        }
+    }
+
+    private static Match toMatch(MatchDTO dto, TeamRegistry registry) {
+        Match match = new Match();
+        match.setMatchId(dto.getMatchId());
+        match.setComplete(dto.isComplete());
+        if (dto.getTeam1() != null) match.setTeam1(toTeam(dto.getTeam1(), registry));
+        if (dto.getTeam2() != null) match.setTeam2(toTeam(dto.getTeam2(), registry));
+        if (dto.getWinner() != null) match.setWinner(toTeam(dto.getWinner(), registry));
+        if (dto.getCourt() != null) match.setCourt(toCourt(dto.getCourt()));
+        if (dto.getReferee() != null) match.setReferee(dto.getReferee());
+        return match;
+    }
+
+    /**
+     * Assembles a list of flat brackets.
+     *
+     * @param dtos The flat bracket DTOs; may be {@code null}.
+     * @param registry The registry providing canonical teams.
+     * @return The assembled brackets, in the same order as the DTOs.
+     */
+    public static List<Bracket> assembleAllFlat(List<BracketFlatDTO> dtos, TeamRegistry registry) {
+        if (dtos == null) return Collections.emptyList();
+        List<Bracket> brackets = new ArrayList<>(dtos.size());
+        for (BracketFlatDTO dto : dtos) {
+            brackets.add(assembleFlat(dto, registry));
+        }
+        return brackets;
+    }
+
+    /**
+     * Assembles one flat bracket in time linear in the number of matches: all matches are
+     * created first, then every ID reference is resolved with a table lookup.
+     *
+     * @param dto The flat bracket DTO.
+     * @param registry The registry providing canonical teams.
+     * @return The assembled bracket.
+     */
+    public static Bracket assembleFlat(BracketFlatDTO dto, TeamRegistry registry) {
+        Bracket bracket = new Bracket(dto.getName(), dto.getType());
+        bracket.setBracketId(dto.getBracketId());
+
+        Map<Integer, Team> teams = new HashMap<>();
+        if (dto.getTeams() != null) {
+            for (TeamDTO tDto : dto.getTeams()) {
+                teams.put(tDto.getTeamId(), toTeam(tDto, registry));
+            }
+        }
+        Map<Integer, Court> courts = new HashMap<>();
+        if (dto.getCourts() != null) {
+            for (CourtDTO cDto : dto.getCourts()) {
+                courts.put(cDto.getCourtId(), toCourt(cDto));
+            }
+        }
+        Map<Integer, User> referees = new HashMap<>();
+        if (dto.getReferees() != null) {
+            for (User referee : dto.getReferees()) {
+                referees.put(referee.getUserId(), referee);
+            }
+        }
+
+        List<RoundFlatDTO> sortedRounds = dto.getRounds() == null ? new ArrayList<>() : new ArrayList<>(dto.getRounds());
+        sortedRounds.sort(Comparator.comparingInt(RoundFlatDTO::getRoundId));
+
+        Map<Integer, Match> matches = new HashMap<>();
+        for (RoundFlatDTO rDto : sortedRounds) {
+            Round round = new Round();
+            round.setRoundId(rDto.getRoundId());
+            if (rDto.getMatches() != null) {
+                for (MatchFlatDTO mDto : rDto.getMatches()) {
+                    Match match = new Match();
+                    match.setMatchId(mDto.getMatchId());
+                    matches.put(mDto.getMatchId(), match);
+                    round.addMatch(match);
+                }
+            }
+            bracket.addRound(round);
+        }
+
+        for (RoundFlatDTO rDto : sortedRounds) {
+            if (rDto.getMatches() == null) continue;
+            for (MatchFlatDTO mDto : rDto.getMatches()) {
+                Match match = matches.get(mDto.getMatchId());
+                match.setComplete(mDto.isComplete());
+                if (mDto.getTeam1Id() != null) match.setTeam1(teams.get(mDto.getTeam1Id()));
+                if (mDto.getTeam2Id() != null) match.setTeam2(teams.get(mDto.getTeam2Id()));
+                if (mDto.getWinnerId() != null) match.setWinner(teams.get(mDto.getWinnerId()));
+                if (mDto.getCourtId() != null) match.setCourt(courts.get(mDto.getCourtId()));
+                if (mDto.getRefereeId() != null) match.setReferee(referees.get(mDto.getRefereeId()));
+                if (mDto.getSourceMatch1Id() != null) match.setSourceMatch1(matches.get(mDto.getSourceMatch1Id()));
+                if (mDto.getSourceMatch2Id() != null) match.setSourceMatch2(matches.get(mDto.getSourceMatch2Id()));
+            }
+        }
+        return bracket;
+    }
+
+    private static Team toTeam(TeamDTO dto, TeamRegistry registry) {
+        return registry.intern(dto.getTeamId(), dto.getName());
+    }
+
+    private static Court toCourt(CourtDTO dto) {
+        Court court = new Court(dto.getName(), true);
+        court.setCourtId(dto.getCourtId());
+        return court;
+    }
+}
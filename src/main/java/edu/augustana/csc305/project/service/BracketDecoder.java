@@ -0,0 +1,169 @@
+package edu.augustana.csc305.project.service;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import edu.augustana.csc305.project.model.api.BracketDTO;
+import edu.augustana.csc305.project.model.api.BracketFlatDTO;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.Round;
+import edu.augustana.csc305.project.model.domain.TeamRegistry;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns a bracket list response into {@link Bracket} domain objects.
+ *
+ * <p>The client asks for the flat format ({@link #FLAT_MEDIA_TYPE}) and the server answers with
+ * whichever format it supports; the {@code Content-Type} of the response tells the two apart.
+ * Both formats are turned into domain objects by the {@link BracketAssembler}: flat brackets in
+ * one linear pass over ID tables, nested brackets (the original {@link BracketDTO} format) with
+ * each match mapped only once even though it is repeated inside every later match's subtree.</p>
+ *
+ * <p>Cumulative payload size and decode time are kept per format, so the two can be compared
+ * on real tournaments via {@link #getStats(Format)}.</p>
+ */
+public final class BracketDecoder {
+
+    /**
+     * Media type of the flat bracket representation.
+     */
+    public static final String FLAT_MEDIA_TYPE = "application/vnd.kronos.bracket-flat+json";
+
+    private static final Gson GSON = new Gson();
+    private static final Type FLAT_LIST = new TypeToken<List<BracketFlatDTO>>() {}.getType();
+    private static final Type NESTED_LIST = new TypeToken<List<BracketDTO>>() {}.getType();
+
+    /**
+     * The wire format a bracket response was decoded from.
+     */
+    public enum Format { FLAT, NESTED }
+
+    /**
+     * Running totals for one wire format.
+     */
+    public static final class Stats {
+        private final AtomicLong responses = new AtomicLong();
+        private final AtomicLong payloadBytes = new AtomicLong();
+        private final AtomicLong matches = new AtomicLong();
+        private final AtomicLong decodeNanos = new AtomicLong();
+
+        private void record(long bytes, int matchCount, long nanos) {
+            responses.incrementAndGet();
+            payloadBytes.addAndGet(bytes);
+            matches.addAndGet(matchCount);
+            decodeNanos.addAndGet(nanos);
+        }
+
+        public long getResponses() { return responses.get(); }
+        public long getPayloadBytes() { return payloadBytes.get(); }
+        public long getMatches() { return matches.get(); }
+        public long getDecodeNanos() { return decodeNanos.get(); }
+
+        /**
+         * Gets the average payload size per decoded match.
+         *
+         * @return Bytes per match, or 0 if nothing has been decoded.
+         */
+        public double getBytesPerMatch() {
+            long count = matches.get();
+            return count == 0 ? 0 : (double) payloadBytes.get() / count;
+        }
+
+        /**
+         * Gets the average decode time per match, including JSON parsing.
+         *
+         * @return Microseconds per match, or 0 if nothing has been decoded.
+         */
+        public double getMicrosPerMatch() {
+            long count = matches.get();
+            return count == 0 ? 0 : decodeNanos.get() / 1_000.0 / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("responses=%d, bytes=%d, matches=%d, %.1f B/match, %.2f us/match",
+                    getResponses(), getPayloadBytes(), getMatches(), getBytesPerMatch(), getMicrosPerMatch());
+        }
+    }
+
+    private static final Map<Format, Stats> STATS = new EnumMap<>(Format.class);
+
+    static {
+        for (Format format : Format.values()) {
+            STATS.put(format, new Stats());
+        }
+    }
+
+    private BracketDecoder() {}
+
+    /**
+     * Decodes a bracket list response body in whichever format the server chose.
+     *
+     * @param body The response body of a bracket list request.
+     * @param registry The registry providing canonical teams.
+     * @return The decoded brackets, with rounds ordered by round ID.
+     * @throws IOException If the body cannot be read.
+     */
+    public static List<Bracket> decode(ResponseBody body, TeamRegistry registry) throws IOException {
+        Format format = formatOf(body.contentType());
+        byte[] bytes = body.bytes();
+
+        long start = System.nanoTime();
+        String json = new String(bytes, StandardCharsets.UTF_8);
+        List<Bracket> brackets = format == Format.FLAT
+                ? BracketAssembler.assembleAllFlat(GSON.fromJson(json, FLAT_LIST), registry)
+                : BracketAssembler.assembleAll(GSON.fromJson(json, NESTED_LIST), registry);
+        long elapsed = System.nanoTime() - start;
+
+        record(format, bytes.length, countMatches(brackets), elapsed);
+        return brackets;
+    }
+
+    /**
+     * Adds one decoded response to the running totals of its format.
+     */
+    static void record(Format format, long payloadBytes, int matchCount, long decodeNanos) {
+        STATS.get(format).record(payloadBytes, matchCount, decodeNanos);
+    }
+
+    /**
+     * Determines the wire format from a response's content type.
+     *
+     * @param contentType The {@code Content-Type} of the response, possibly {@code null}.
+     * @return {@link Format#FLAT} for the flat media type, otherwise {@link Format#NESTED}.
+     */
+    public static Format formatOf(MediaType contentType) {
+        if (contentType != null && FLAT_MEDIA_TYPE.equals(contentType.type() + "/" + contentType.subtype())) {
+            return Format.FLAT;
+        }
+        return Format.NESTED;
+    }
+
+    /**
+     * Gets the running totals for one wire format.
+     *
+     * @param format The format to report on.
+     * @return The statistics for that format.
+     */
+    public static Stats getStats(Format format) {
+        return STATS.get(format);
+    }
+
+    private static int countMatches(List<Bracket> brackets) {
+        int count = 0;
+        for (Bracket bracket : brackets) {
+            for (Round round : bracket.getRounds()) {
+                count += round.getMatches().size();
+            }
+        }
+        return count;
+    }
+}
@@ -1,9 +1,7 @@
 package edu.augustana.csc305.project.service;
 
 import edu.augustana.csc305.project.model.domain.Bracket;
-import edu.augustana.csc305.project.model.domain.Match;
-import edu.augustana.csc305.project.model.domain.Round;
-import edu.augustana.csc305.project.model.domain.Team;
+import edu.augustana.csc305.project.model.domain.BracketGraph;
 
 import java.util.*;
 
@@ -12,6 +10,7 @@ import java.util.*;
  * <p>
  * This class provides static methods to perform calculations and derive new data
  * from existing Bracket objects, such as generating a ranked list of teams.
+ * The calculations run on the compact {@link BracketGraph} form of a bracket.
  * </p>
  * This class was recommended to be made by Gemini 2.5 Pro.
  */
@@ -23,88 +22,115 @@ public class BracketServices {
      * @return A Map where Key = Team ID, Value = Rank (1st, 2nd, 3rd...).
      */
     public static Map<Integer, Integer> generatePointsStandings(Bracket bracket) {
-        Map<Integer, Integer> winCounts = new HashMap<>();
-        Map<Integer, Integer> maxRoundReached = new HashMap<>();
-        List<Integer> teamIds = new ArrayList<>();
-
-        List<Round> rounds = bracket.getRounds();
-        int finalRoundIndex = rounds.size();
-
-        for (int roundIndex = 0; roundIndex < rounds.size(); roundIndex++) {
-            Round round = rounds.get(roundIndex);
-            for (Match match : round.getMatches()) {
-                Team team1 = match.getTeam1();
-                Team team2 = match.getTeam2();
-
-                if (team1 != null) {
-                    int t1Id = team1.getTeamId();
-                    winCounts.putIfAbsent(t1Id, 0);
-                    maxRoundReached.put(t1Id, Math.max(maxRoundReached.getOrDefault(t1Id, 0), roundIndex + 1));
-                    if (!teamIds.contains(t1Id)) teamIds.add(t1Id);
-                }
-                if (team2 != null) {
-                    int t2Id = team2.getTeamId();
-                    winCounts.putIfAbsent(t2Id, 0);
-                    maxRoundReached.put(t2Id, Math.max(maxRoundReached.getOrDefault(t2Id, 0), roundIndex + 1));
-                    if (!teamIds.contains(t2Id)) teamIds.add(t2Id);
-                }
+        return generatePointsStandings(BracketGraph.from(bracket));
+    }
 
-                if (match.isComplete() && match.getWinner() != null) {
-                    winCounts.merge(match.getWinner().getTeamId(), 1, Integer::sum);
-                }
-            }
-        }
+    /**
+     * Bits of a standings sort key holding a team's position in first-seen order, which keeps the
+     * sort stable. The bits above hold the wins and the round reached.
+     */
+    private static final int POSITION_BITS = 21;
+    private static final int WINS_BITS = 21;
+    private static final int ROUND_BITS = 20;
+
+    /**
+     * Packs the standings order of a team into one key: ascending keys put later rounds first,
+     * then more wins, then earlier positions. Finalists need no flag of their own, as the final is
+     * the last round.
+     *
+     * @param roundReached The last round the team reached, starting at 1.
+     * @param wins The team's win count.
+     * @param position A position unique to the team that orders ties, below {@code 2^21}.
+     * @return The sort key.
+     */
+    static long rankingKey(int roundReached, int wins, int position) {
+        long maxRound = (1L << ROUND_BITS) - 1;
+        long maxWins = (1L << WINS_BITS) - 1;
+        return (maxRound - roundReached) << (WINS_BITS + POSITION_BITS)
+                | (maxWins - wins) << POSITION_BITS
+                | position;
+    }
 
-        teamIds.sort((id1, id2) -> {
-            Integer round1 = maxRoundReached.getOrDefault(id1, 0);
-            Integer round2 = maxRoundReached.getOrDefault(id2, 0);
-            Integer wins1 = winCounts.getOrDefault(id1, 0);
-            Integer wins2 = winCounts.getOrDefault(id2, 0);
+    /**
+     * Gets the position a ranking key was made with.
+     *
+     * @param key A key from {@link #rankingKey(int, int, int)}.
+     * @return The position.
+     */
+    static int rankingPosition(long key) {
+        return (int) (key & ((1L << POSITION_BITS) - 1));
+    }
 
-            boolean team1InFinal = round1.equals(finalRoundIndex);
-            boolean team2InFinal = round2.equals(finalRoundIndex);
+    /**
+     * Generates the standings of a bracket from its compact {@link BracketGraph} form.
+     * Teams are ranked by the last round they reached, then by wins; the two finalists are always first and second.
+     * Teams that tie keep the order in which they first appear in the bracket.
+     *
+     * <p>The ordering is folded into one {@code long} key per team (round, wins and first-seen
+     * position), so the teams are ranked with a single primitive sort in one pass over
+     * the matches, without boxing or comparator lookups.</p>
+     *
+     * @param graph The bracket to analyze.
+     * @return A Map where Key = Team ID, Value = Rank (1st, 2nd, 3rd...).
+     */
+    public static Map<Integer, Integer> generatePointsStandings(BracketGraph graph) {
+        int teamCount = graph.getTeamCount();
+        int[] winCounts = new int[teamCount];
+        int[] maxRoundReached = new int[teamCount];
+        int[] order = new int[teamCount];
+        int playing = 0;
+
+        int finalRoundIndex = graph.getRoundCount();
+        if (teamCount >= 1 << POSITION_BITS || finalRoundIndex >= 1 << ROUND_BITS) {
+            throw new IllegalArgumentException("Bracket is too large to rank");
+        }
 
-            if (team1InFinal && team2InFinal) {
-                return wins2.compareTo(wins1);
+        for (int match = 0; match < graph.getMatchCount(); match++) {
+            int roundNumber = graph.roundOf(match) + 1;
+            for (int side = 1; side <= 2; side++) {
+                int team = side == 1 ? graph.team1(match) : graph.team2(match);
+                if (team == BracketGraph.NONE) continue;
+                if (maxRoundReached[team] == 0) order[playing++] = team;
+                maxRoundReached[team] = Math.max(maxRoundReached[team], roundNumber);
             }
 
-            if (team1InFinal) return -1;
-            if (team2InFinal) return 1;
-
-            int roundComparison = round2.compareTo(round1);
-            if (roundComparison != 0) {
-                return roundComparison;
+            if (graph.isComplete(match) && graph.winner(match) != BracketGraph.NONE) {
+                winCounts[graph.winner(match)]++;
             }
+        }
 
-            return wins2.compareTo(wins1);
-        });
+        long[] keys = new long[playing];
+        for (int i = 0; i < playing; i++) {
+            keys[i] = rankingKey(maxRoundReached[order[i]], winCounts[order[i]], i);
+        }
+        Arrays.sort(keys);
 
-        Map<Integer, Integer> teamRankings = new HashMap<>();
+        Map<Integer, Integer> teamRankings = new HashMap<>(playing * 4 / 3 + 1);
         int currentRank = 0;
         int previousRound = -1;
         boolean assignedFirst = false;
 
-        for (int i = 0; i < teamIds.size(); i++) {
-            Integer currentId = teamIds.get(i);
-            Integer currentRound = maxRoundReached.getOrDefault(currentId, 0);
+        for (int i = 0; i < playing; i++) {
+            int team = order[rankingPosition(keys[i])];
+            int currentRound = maxRoundReached[team];
 
             if (i == 0) {
                 currentRank = 1;
                 assignedFirst = true;
             }
-            else if (i == 1 && assignedFirst && currentRound.equals(finalRoundIndex)) {
+            else if (i == 1 && assignedFirst && currentRound == finalRoundIndex) {
                 currentRank = 2;
                 previousRound = currentRound;
             }
             else {
-                if (!currentRound.equals(previousRound)) {
+                if (currentRound != previousRound) {
                     currentRank = i + 1;
                 }
                 previousRound = currentRound;
             }
-            teamRankings.put(currentId, currentRank);
+            teamRankings.put(graph.teamId(team), currentRank);
         }
 
         return teamRankings;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,432 @@
+package edu.augustana.csc305.project.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.BracketType;
+import edu.augustana.csc305.project.model.domain.Court;
+import edu.augustana.csc305.project.model.domain.Match;
+import edu.augustana.csc305.project.model.domain.Round;
+import edu.augustana.csc305.project.model.domain.Team;
+import edu.augustana.csc305.project.model.domain.TeamRegistry;
+import edu.augustana.csc305.project.model.domain.User;
+import edu.augustana.csc305.project.model.domain.UserRole;
+import okhttp3.ResponseBody;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for bracket list responses.
+ *
+ * <p>Reads the response body token by token with a Gson {@link JsonReader} and builds
+ * {@link Bracket}, {@link Round} and {@link Match} domain objects directly, without binding the
+ * JSON to DTOs first. Each bracket is handed to the caller as soon as its closing brace has been
+ * read, so the first bracket can be shown while the rest of the body is still arriving.</p>
+ *
+ * <p>Both wire formats understood by {@link BracketDecoder} are supported. In the nested format,
+ * a source match that has already been decoded is skipped as soon as its {@code matchId} is read,
+ * so the repeated subtrees are never turned into objects. In the flat format, ID references are
+ * resolved once the bracket is complete, since the team, court and referee tables may follow
+ * the rounds.</p>
+ */
+public final class BracketStreamDecoder {
+
+    private BracketStreamDecoder() {}
+
+    /**
+     * Decodes a bracket list response, passing each bracket to {@code sink} as soon as it is complete.
+     *
+     * @param body The response body of a bracket list request. It is read but not closed.
+     * @param registry The registry providing canonical teams.
+     * @param sink Receives each decoded bracket, in response order, on the calling thread.
+     * @return The number of brackets decoded.
+     * @throws IOException If the body cannot be read or is not valid bracket JSON.
+     */
+    public static int decode(ResponseBody body, TeamRegistry registry, Consumer<Bracket> sink) throws IOException {
+        BracketDecoder.Format format = BracketDecoder.formatOf(body.contentType());
+        CountingInputStream counter = new CountingInputStream(body.byteStream());
+        long start = System.nanoTime();
+        int brackets = 0;
+        int matches = 0;
+
+        JsonReader reader = new JsonReader(new InputStreamReader(counter, StandardCharsets.UTF_8));
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Bracket bracket = format == BracketDecoder.Format.FLAT ? readFlatBracket(reader, registry) : readNestedBracket(reader, registry);
+            for (Round round : bracket.getRounds()) {
+                matches += round.getMatches().size();
+            }
+            brackets++;
+            sink.accept(bracket);
+        }
+        reader.endArray();
+
+        BracketDecoder.record(format, counter.count, matches, System.nanoTime() - start);
+        return brackets;
+    }
+
+    // ---- Nested format ----
+
+    private static Bracket readNestedBracket(JsonReader reader, TeamRegistry registry) throws IOException {
+        int bracketId = 0;
+        String name = null;
+        BracketType type = null;
+        List<Round> rounds = new ArrayList<>();
+        Map<Integer, Match> matchCache = new HashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bracketId" -> bracketId = reader.nextInt();
+                case "name" -> name = nextStringOrNull(reader);
+                case "type" -> type = nextBracketType(reader);
+                case "rounds" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        rounds.add(readNestedRound(reader, matchCache, registry));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return buildBracket(bracketId, name, type, rounds);
+    }
+
+    private static Round readNestedRound(JsonReader reader, Map<Integer, Match> matchCache, TeamRegistry registry) throws IOException {
+        Round round = new Round();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "roundId" -> round.setRoundId(reader.nextInt());
+                case "matches" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        round.addMatch(readNestedMatch(reader, matchCache, registry));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return round;
+    }
+
+    private static Match readNestedMatch(JsonReader reader, Map<Integer, Match> matchCache, TeamRegistry registry) throws IOException {
+        if (skipIfNull(reader)) return null;
+
+        Match match = new Match();
+        Integer matchId = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("matchId")) {
+                matchId = reader.nextInt();
+                Match known = matchCache.get(matchId);
+                if (known != null) {
+                    // Repeated copy of a match decoded earlier: skip the rest of its subtree.
+                    while (reader.hasNext()) {
+                        reader.nextName();
+                        reader.skipValue();
+                    }
+                    reader.endObject();
+                    return known;
+                }
+                match.setMatchId(matchId);
+                continue;
+            }
+            switch (field) {
+                case "complete" -> match.setComplete(nextBooleanOrFalse(reader));
+                case "team1" -> match.setTeam1(readTeam(reader, registry));
+                case "team2" -> match.setTeam2(readTeam(reader, registry));
+                case "winner" -> match.setWinner(readTeam(reader, registry));
+                case "court" -> match.setCourt(readCourt(reader));
+                case "referee" -> match.setReferee(readUser(reader));
+                case "sourceMatch1" -> match.setSourceMatch1(readNestedMatch(reader, matchCache, registry));
+                case "sourceMatch2" -> match.setSourceMatch2(readNestedMatch(reader, matchCache, registry));
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (matchId != null) {
+            Match known = matchCache.putIfAbsent(matchId, match);
+            if (known != null) return known;
+        }
+        return match;
+    }
+
+    // ---- Flat format ----
+
+    /**
+     * The ID references of one flat match, held until the bracket's lookup tables are complete.
+     */
+    private static final class FlatRefs {
+        private final Match match;
+        private Integer team1Id, team2Id, winnerId, courtId, refereeId, source1Id, source2Id;
+
+        private FlatRefs(Match match) {
+            this.match = match;
+        }
+    }
+
+    private static Bracket readFlatBracket(JsonReader reader, TeamRegistry registry) throws IOException {
+        int bracketId = 0;
+        String name = null;
+        BracketType type = null;
+        List<Round> rounds = new ArrayList<>();
+        List<FlatRefs> refs = new ArrayList<>();
+        Map<Integer, Team> teams = new HashMap<>();
+        Map<Integer, Court> courts = new HashMap<>();
+        Map<Integer, User> referees = new HashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bracketId" -> bracketId = reader.nextInt();
+                case "name" -> name = nextStringOrNull(reader);
+                case "type" -> type = nextBracketType(reader);
+                case "teams" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Team team = readTeam(reader, registry);
+                        if (team != null) teams.put(team.getTeamId(), team);
+                    }
+                    reader.endArray();
+                }
+                case "courts" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Court court = readCourt(reader);
+                        if (court != null) courts.put(court.getCourtId(), court);
+                    }
+                    reader.endArray();
+                }
+                case "referees" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        User referee = readUser(reader);
+                        if (referee != null) referees.put(referee.getUserId(), referee);
+                    }
+                    reader.endArray();
+                }
+                case "rounds" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        rounds.add(readFlatRound(reader, refs));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        Map<Integer, Match> matches = new HashMap<>(refs.size() * 2);
+        for (FlatRefs ref : refs) {
+            matches.put(ref.match.getMatchId(), ref.match);
+        }
+        for (FlatRefs ref : refs) {
+            Match match = ref.match;
+            if (ref.team1Id != null) match.setTeam1(teams.get(ref.team1Id));
+            if (ref.team2Id != null) match.setTeam2(teams.get(ref.team2Id));
+            if (ref.winnerId != null) match.setWinner(teams.get(ref.winnerId));
+            if (ref.courtId != null) match.setCourt(courts.get(ref.courtId));
+            if (ref.refereeId != null) match.setReferee(referees.get(ref.refereeId));
+            if (ref.source1Id != null) match.setSourceMatch1(matches.get(ref.source1Id));
+            if (ref.source2Id != null) match.setSourceMatch2(matches.get(ref.source2Id));
+        }
+
+        return buildBracket(bracketId, name, type, rounds);
+    }
+
+    private static Round readFlatRound(JsonReader reader, List<FlatRefs> refs) throws IOException {
+        Round round = new Round();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "roundId" -> round.setRoundId(reader.nextInt());
+                case "matches" -> {
+                    if (skipIfNull(reader)) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        FlatRefs ref = readFlatMatch(reader);
+                        refs.add(ref);
+                        round.addMatch(ref.match);
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return round;
+    }
+
+    private static FlatRefs readFlatMatch(JsonReader reader) throws IOException {
+        FlatRefs ref = new FlatRefs(new Match());
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "matchId" -> ref.match.setMatchId(reader.nextInt());
+                case "complete" -> ref.match.setComplete(nextBooleanOrFalse(reader));
+                case "team1Id" -> ref.team1Id = nextIntOrNull(reader);
+                case "team2Id" -> ref.team2Id = nextIntOrNull(reader);
+                case "winnerId" -> ref.winnerId = nextIntOrNull(reader);
+                case "courtId" -> ref.courtId = nextIntOrNull(reader);
+                case "refereeId" -> ref.refereeId = nextIntOrNull(reader);
+                case "sourceMatch1Id" -> ref.source1Id = nextIntOrNull(reader);
+                case "sourceMatch2Id" -> ref.source2Id = nextIntOrNull(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ref;
+    }
+
+    // ---- Shared pieces ----
+
+    private static Bracket buildBracket(int bracketId, String name, BracketType type, List<Round> rounds) {
+        Bracket bracket = new Bracket(name, type);
+        bracket.setBracketId(bracketId);
+        rounds.sort(Comparator.comparingInt(Round::getRoundId));
+        for (Round round : rounds) {
+            bracket.addRound(round);
+        }
+        return bracket;
+    }
+
+    private static Team readTeam(JsonReader reader, TeamRegistry registry) throws IOException {
+        if (skipIfNull(reader)) return null;
+        int teamId = 0;
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "teamId" -> teamId = reader.nextInt();
+                case "name" -> name = nextStringOrNull(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return registry.intern(teamId, name);
+    }
+
+    private static Court readCourt(JsonReader reader) throws IOException {
+        if (skipIfNull(reader)) return null;
+        int courtId = 0;
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "courtId" -> courtId = reader.nextInt();
+                case "name" -> name = nextStringOrNull(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        Court court = new Court(name, true);
+        court.setCourtId(courtId);
+        return court;
+    }
+
+    private static User readUser(JsonReader reader) throws IOException {
+        if (skipIfNull(reader)) return null;
+        User user = new User();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "userId" -> user.setUserId(reader.nextInt());
+                case "username" -> user.setUsername(nextStringOrNull(reader));
+                case "role" -> {
+                    String role = nextStringOrNull(reader);
+                    user.setRole(role == null ? null : parseEnum(UserRole.class, role));
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return user;
+    }
+
+    private static BracketType nextBracketType(JsonReader reader) throws IOException {
+        String value = nextStringOrNull(reader);
+        return value == null ? null : parseEnum(BracketType.class, value);
+    }
+
+    /**
+     * Matches Gson's enum binding, which leaves unknown constants as {@code null}.
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean skipIfNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextString();
+    }
+
+    private static Integer nextIntOrNull(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextInt();
+    }
+
+    private static boolean nextBooleanOrFalse(JsonReader reader) throws IOException {
+        return !skipIfNull(reader) && reader.nextBoolean();
+    }
+
+    /**
+     * Counts the bytes read from the body, for the payload statistics.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
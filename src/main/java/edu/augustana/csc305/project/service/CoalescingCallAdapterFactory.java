@@ -0,0 +1,217 @@
+package edu.augustana.csc305.project.service;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Retrofit {@link CallAdapter.Factory} that routes every {@code @GET} method of {@link KronosApi}
+ * through a {@link RequestCoalescer}.
+ *
+ * <p>Calls for non-GET methods are left untouched, since writes must always reach the server.
+ * Calls returning a raw {@link ResponseBody} are left untouched as well: such a body is a stream
+ * that can only be read once, so it cannot be handed to several callers.
+ * The adapter is transparent to callers: both {@link Call#execute()} and {@link Call#enqueue(Callback)}
+ * keep working as before, but identical requests issued at the same time share one response.</p>
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+    private final RequestCoalescer coalescer;
+
+    /**
+     * Creates a factory backed by the given coalescer.
+     *
+     * @param coalescer The shared in-flight request table.
+     */
+    public CoalescingCallAdapterFactory(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !isGet(annotations)) {
+            return null;
+        }
+        if (returnType instanceof ParameterizedType parameterized
+                && getRawType(getParameterUpperBound(0, parameterized)) == ResponseBody.class) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> delegate =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(delegate.adapt(call), coalescer);
+            }
+        };
+    }
+
+    private static boolean isGet(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A {@link Call} that joins an identical in-flight request instead of issuing its own
+     * whenever one is already running.
+     *
+     * @param <T> The decoded body type.
+     */
+    static final class CoalescingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private final RequestCoalescer coalescer;
+        private volatile RequestCoalescer.Flight flight;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        CoalescingCall(Call<T> delegate, RequestCoalescer coalescer) {
+            this.delegate = delegate;
+            this.coalescer = coalescer;
+        }
+
+        private String key() {
+            Request request = delegate.request();
+            String accept = request.header("Accept");
+            return request.method() + " " + request.url() + (accept == null ? "" : " | " + accept);
+        }
+
+        private synchronized RequestCoalescer.Flight start() {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+            flight = coalescer.join(key());
+            return flight;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            RequestCoalescer.Flight current = start();
+
+            if (current.isLeader()) {
+                Response<T> response;
+                try {
+                    response = delegate.execute();
+                } catch (IOException | RuntimeException e) {
+                    coalescer.fail(current, e);
+                    throw e;
+                }
+                coalescer.complete(current, response);
+                return current.result().join().toResponse();
+            }
+
+            try {
+                return current.result().get().toResponse();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for shared request", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IOException(cause);
+            } catch (CancellationException e) {
+                throw new IOException("Canceled", e);
+            }
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            RequestCoalescer.Flight current = start();
+
+            if (current.isLeader()) {
+                delegate.enqueue(new Callback<>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        try {
+                            coalescer.complete(current, response);
+                        } catch (IOException ignored) {
+                            // The failure has already been published to the flight.
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        coalescer.fail(current, t);
+                    }
+                });
+            }
+
+            current.result().whenComplete((outcome, error) -> {
+                if (canceled) {
+                    callback.onFailure(this, new IOException("Canceled"));
+                } else if (error != null) {
+                    callback.onFailure(this, error);
+                } else {
+                    callback.onResponse(this, outcome.toResponse());
+                }
+            });
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (canceled) return;
+                canceled = true;
+            }
+            RequestCoalescer.Flight current = flight;
+            if (current != null && coalescer.leave(current)) {
+                delegate.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone(), coalescer);
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
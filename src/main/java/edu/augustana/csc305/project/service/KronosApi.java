@@ -2,6 +2,7 @@ package edu.augustana.csc305.project.service;
 
 import edu.augustana.csc305.project.model.api.*;
 import edu.augustana.csc305.project.model.domain.User;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -106,6 +107,14 @@ public interface KronosApi {
     @GET("api/tournaments/{tournamentId}/brackets")
     Call<List<BracketDTO>> getBracketsForTournament(@Path("tournamentId") int tournamentId);
 
+    // Prefers the flat bracket format; decode the body with BracketDecoder or BracketStreamDecoder, which also
+    // accept the nested format. The body is streamed from the network: it bypasses the response cache and
+    // request coalescing, can be read only once and must be closed by the caller
+    @Streaming
+    @GET("api/tournaments/{tournamentId}/brackets")
+    @Headers({"Accept: application/vnd.kronos.bracket-flat+json, application/json;q=0.9", "Cache-Control: no-store"})
+    Call<ResponseBody> getBracketsForTournamentNegotiated(@Path("tournamentId") int tournamentId);
+
     @POST("api/brackets")
     Call<BracketDTO> createBracket(@Body BracketNewDTO request);
 
@@ -114,4 +123,8 @@ public interface KronosApi {
 
     @PATCH("api/matches/{matchId}")
     Call<Void> updateMatch(@Path("matchId") int matchId, @Body MatchUpdateDTO update);
+
+    // Bulk variant used by MatchUpdateQueue; servers without it answer 404/405
+    @PATCH("api/matches")
+    Call<Void> updateMatches(@Body List<MatchBatchUpdateDTO> updates);
 }
\ No newline at end of file
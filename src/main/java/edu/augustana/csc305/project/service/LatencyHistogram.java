@@ -0,0 +1,120 @@
+package edu.augustana.csc305.project.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free latency histogram.
+ *
+ * <p>Latencies are recorded in microseconds into log-linear buckets: every power of two is split
+ * into {@value #SUB_BUCKETS} equal sub-buckets, so any recorded value is reported within about 6%
+ * of its true value, from 1 µs up to well over an hour. Recording is a couple of shifts and one
+ * atomic increment, so it is cheap enough to run on every network call; percentiles are computed
+ * only when asked for.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds; negative values are ignored.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) return;
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        counts.incrementAndGet(indexOf(micros));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Values below {@code SUB_BUCKETS} get a bucket each; above that, a value in [2^k, 2^(k+1))
+     * lands in one of the {@code SUB_BUCKETS} equal slices of that range.
+     */
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int k = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (k - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        int index = (k - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        return Math.min(index, MAGNITUDES * SUB_BUCKETS - 1);
+    }
+
+    /**
+     * The largest value that falls into a bucket, so reported percentiles never understate latency.
+     */
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int sub = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return The sample count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return The mean in milliseconds, or 0 if nothing has been recorded.
+     */
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMicros.get() / 1_000.0 / n;
+    }
+
+    /**
+     * Gets the largest recorded latency.
+     *
+     * @return The maximum in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Gets the latency below which the given fraction of the samples fall.
+     *
+     * @param percentile The percentile, between 0 and 100 (e.g. 99 for p99).
+     * @return The percentile in milliseconds, or 0 if nothing has been recorded.
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getCount(), getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+    }
+}
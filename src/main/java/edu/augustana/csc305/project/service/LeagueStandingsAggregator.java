@@ -0,0 +1,240 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.model.api.TeamDTO;
+import edu.augustana.csc305.project.model.api.TournamentDTO;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Singleton service that adds up league standings on the client from the standings of each
+ * tournament in the league.
+ *
+ * <p>Every tournament's points are kept as its contribution to the league, together with the
+ * running totals. A {@link #refresh(int) refresh} fetches the league's teams, its tournaments and
+ * the standings of every tournament at the same time with asynchronous Retrofit calls; only
+ * tournaments whose standings differ from their cached contribution are taken out of the totals
+ * and added back, and tournaments that left the league are taken out. Because the read routes are
+ * cached by {@link ApiResponseCache}, a refresh of an unchanged league is mostly served locally.</p>
+ *
+ * <p>The last totals of a league are available at once through {@link #getCached(int)}, so a
+ * league that has been opened before can be shown immediately while it is refreshed. A tournament
+ * whose standings fail to load keeps its previous contribution.</p>
+ */
+public class LeagueStandingsAggregator {
+
+    /**
+     * The standings of a league at one point in time.
+     *
+     * @param leagueId The league's ID.
+     * @param teams The league's teams.
+     * @param points The points of each team by team ID; teams without points are absent.
+     * @param tournamentCount The number of tournaments added up.
+     * @param failedTournaments The number of tournaments whose latest standings could not be loaded.
+     * @param revision Goes up whenever the totals change, so callers can skip redrawing unchanged standings.
+     */
+    public record LeagueStandings(int leagueId, List<TeamDTO> teams, Map<Integer, Integer> points,
+                                  int tournamentCount, int failedTournaments, long revision) {}
+
+    /**
+     * The cached contributions and totals of one league. Guarded by its own lock.
+     */
+    private static final class LeagueEntry {
+        private final Map<Integer, Map<Integer, Integer>> contributions = new HashMap<>();
+        private final Map<Integer, Integer> totals = new HashMap<>();
+        private List<TeamDTO> teams = List.of();
+        private long revision;
+        private LeagueStandings snapshot;
+
+        private void add(Map<Integer, Integer> contribution, int sign) {
+            for (Map.Entry<Integer, Integer> entry : contribution.entrySet()) {
+                int points = totals.getOrDefault(entry.getKey(), 0) + sign * entry.getValue();
+                if (points == 0) {
+                    totals.remove(entry.getKey());
+                } else {
+                    totals.put(entry.getKey(), points);
+                }
+            }
+        }
+
+        /**
+         * Replaces a tournament's contribution if it changed.
+         *
+         * @return {@code true} if the totals changed.
+         */
+        private boolean put(int tournamentId, Map<Integer, Integer> standings) {
+            Map<Integer, Integer> previous = contributions.get(tournamentId);
+            if (standings.equals(previous)) return false;
+            if (previous != null) add(previous, -1);
+            Map<Integer, Integer> contribution = Map.copyOf(standings);
+            contributions.put(tournamentId, contribution);
+            add(contribution, 1);
+            return true;
+        }
+
+        private boolean remove(int tournamentId) {
+            Map<Integer, Integer> previous = contributions.remove(tournamentId);
+            if (previous == null) return false;
+            add(previous, -1);
+            return true;
+        }
+
+        private LeagueStandings snapshot(int leagueId, int failed, boolean changed) {
+            if (changed || snapshot == null || snapshot.failedTournaments() != failed) {
+                if (changed) revision++;
+                snapshot = new LeagueStandings(leagueId, teams, Map.copyOf(totals), contributions.size(), failed, revision);
+            }
+            return snapshot;
+        }
+    }
+
+    private static LeagueStandingsAggregator instance;
+
+    private final KronosApi api;
+    private final Map<Integer, LeagueEntry> leagues = new ConcurrentHashMap<>();
+
+    private LeagueStandingsAggregator(KronosApi api) {
+        this.api = api;
+    }
+
+    /**
+     * Provides the singleton instance of the LeagueStandingsAggregator.
+     *
+     * @return The shared LeagueStandingsAggregator instance.
+     */
+    public static synchronized LeagueStandingsAggregator getInstance() {
+        if (instance == null) {
+            instance = new LeagueStandingsAggregator(ApiClient.getInstance().getKronosApi());
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the last known standings of a league without contacting the server.
+     *
+     * @param leagueId The league's ID.
+     * @return The cached standings, or {@code null} if the league has not been loaded yet.
+     */
+    public LeagueStandings getCached(int leagueId) {
+        LeagueEntry entry = leagues.get(leagueId);
+        if (entry == null) return null;
+        synchronized (entry) {
+            return entry.snapshot;
+        }
+    }
+
+    /**
+     * Fetches the league's teams, tournaments and tournament standings in parallel and brings the
+     * totals up to date.
+     *
+     * @param leagueId The league's ID.
+     * @return A future for the new standings. It fails if the league's teams or tournaments cannot be loaded.
+     */
+    public CompletableFuture<LeagueStandings> refresh(int leagueId) {
+        LeagueEntry entry = leagues.computeIfAbsent(leagueId, id -> new LeagueEntry());
+        CompletableFuture<List<TeamDTO>> teams = fetch(api.getTeams(leagueId));
+        CompletableFuture<List<TournamentDTO>> tournaments = fetch(api.getTournamentsByLeague(leagueId));
+
+        CompletableFuture<Map<Integer, Map<Integer, Integer>>> standings = tournaments.thenCompose(list -> {
+            Map<Integer, CompletableFuture<Map<Integer, Integer>>> calls = new HashMap<>();
+            for (TournamentDTO tournament : list) {
+                calls.put(tournament.getTournamentId(), fetch(api.getTournamentStandings(tournament.getTournamentId()))
+                        .exceptionally(t -> {
+                            System.err.println("Failed to load standings of tournament " + tournament.getTournamentId()
+                                    + ": " + t.getMessage());
+                            return null;
+                        }));
+            }
+            return CompletableFuture.allOf(calls.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                Map<Integer, Map<Integer, Integer>> results = new HashMap<>();
+                calls.forEach((tournamentId, call) -> results.put(tournamentId, call.join()));
+                return results;
+            });
+        });
+
+        return teams.thenCombine(standings, (teamList, results) -> {
+            synchronized (entry) {
+                boolean changed = !sameTeams(entry.teams, teamList);
+                entry.teams = List.copyOf(teamList);
+                int failed = 0;
+                for (Map.Entry<Integer, Map<Integer, Integer>> result : results.entrySet()) {
+                    if (result.getValue() == null) {
+                        failed++;
+                    } else {
+                        changed |= entry.put(result.getKey(), result.getValue());
+                    }
+                }
+                Set<Integer> gone = new HashSet<>(entry.contributions.keySet());
+                gone.removeAll(results.keySet());
+                for (int tournamentId : gone) {
+                    changed |= entry.remove(tournamentId);
+                }
+                return entry.snapshot(leagueId, failed, changed);
+            }
+        });
+    }
+
+    /**
+     * Records new standings of one tournament, for example right after they were saved, so the
+     * league totals are correct without fetching them again. Does nothing for a league that has
+     * not been loaded.
+     *
+     * @param leagueId The ID of the tournament's league.
+     * @param tournamentId The tournament's ID.
+     * @param standings The tournament's points by team ID.
+     */
+    public void updateTournament(int leagueId, int tournamentId, Map<Integer, Integer> standings) {
+        LeagueEntry entry = leagues.get(leagueId);
+        if (entry == null) return;
+        synchronized (entry) {
+            if (entry.put(tournamentId, standings) && entry.snapshot != null) {
+                entry.snapshot(leagueId, entry.snapshot.failedTournaments(), true);
+            }
+        }
+    }
+
+    private static boolean sameTeams(List<TeamDTO> a, List<TeamDTO> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getTeamId() != b.get(i).getTeamId()
+                    || !Objects.equals(a.get(i).getName(), b.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends one request. The future completes with the body, or exceptionally if the request failed.
+     */
+    private static <T> CompletableFuture<T> fetch(Call<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    future.complete(response.body());
+                } else {
+                    future.completeExceptionally(new IOException(
+                            "Request failed (" + response.code() + "): " + response.message()));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+}
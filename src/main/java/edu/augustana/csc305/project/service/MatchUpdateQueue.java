@@ -0,0 +1,471 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.config.ApplicationConfig;
+import edu.augustana.csc305.project.model.api.MatchBatchUpdateDTO;
+import edu.augustana.csc305.project.model.api.MatchUpdateDTO;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton write-behind queue for match updates.
+ *
+ * <p>Updates are collected for a short window ({@code MATCH_UPDATE_FLUSH_MS}, default 50 ms) and
+ * several updates to the same match are merged into one, with later non-null fields and later
+ * clears winning.
+ * A single flusher thread sends the pending updates as one batch, so a match never has two
+ * requests in flight and its updates reach the server in the order they were made.</p>
+ *
+ * <p>Batches go to the bulk {@code PATCH api/matches} endpoint. If the server does not offer it
+ * (404, 405 or 501), the queue remembers that and falls back to sending the individual
+ * {@code PATCH api/matches/{id}} requests concurrently, waiting for all of them before the next batch.</p>
+ *
+ * <p>Updates that fail in transit, or that the server rejects with a 408, 429 or 5xx status, are put
+ * back in the queue and retried after a growing delay, at most {@code MATCH_UPDATE_MAX_RETRIES}
+ * times (default 3). Newer updates for the same match queued in the meantime win over the retried
+ * fields. Updates the server rejects for any other reason are not retried.</p>
+ *
+ * <p>Until the server has accepted an update, its match is reported by {@link #getPendingMatchIds()},
+ * so a reload can leave the result shown on screen alone instead of reverting it to the server's
+ * older copy.</p>
+ */
+public class MatchUpdateQueue {
+
+    private static final int DEFAULT_FLUSH_DELAY_MS = 50;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long RETRY_DELAY_MS = 500;
+
+    private static MatchUpdateQueue instance;
+
+    private final KronosApi api;
+    private final long flushDelayMs;
+    private final int maxRetries;
+    private final ScheduledExecutorService flusher;
+    private final Map<Integer, MatchUpdateDTO> pending = new LinkedHashMap<>();
+    private final Map<Integer, Integer> attempts = new HashMap<>();
+    private final Set<Integer> inFlight = new HashSet<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile boolean bulkSupported = true;
+
+    private final AtomicLong enqueuedUpdates = new AtomicLong();
+    private final AtomicLong mergedUpdates = new AtomicLong();
+    private final AtomicLong sentUpdates = new AtomicLong();
+    private final AtomicLong failedUpdates = new AtomicLong();
+    private final AtomicLong retriedUpdates = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedUpdates = new AtomicLong();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    private MatchUpdateQueue(KronosApi api, long flushDelayMs, int maxRetries) {
+        this.api = api;
+        this.flushDelayMs = Math.max(0, flushDelayMs);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("kronos-match-flush").daemon().factory());
+    }
+
+    /**
+     * Provides the singleton instance of the MatchUpdateQueue.
+     *
+     * @return The shared MatchUpdateQueue instance.
+     */
+    public static synchronized MatchUpdateQueue getInstance() {
+        if (instance == null) {
+            instance = new MatchUpdateQueue(ApiClient.getInstance().getKronosApi(),
+                    ApplicationConfig.getIntProperty("MATCH_UPDATE_FLUSH_MS", DEFAULT_FLUSH_DELAY_MS),
+                    ApplicationConfig.getIntProperty("MATCH_UPDATE_MAX_RETRIES", DEFAULT_MAX_RETRIES));
+        }
+        return instance;
+    }
+
+    /**
+     * Queues an update for a match. If an update for the same match is still pending,
+     * the two are merged and only one request is sent.
+     *
+     * @param matchId The ID of the match to update.
+     * @param update The fields to change; {@code null} fields are left as they are.
+     */
+    public synchronized void enqueue(int matchId, MatchUpdateDTO update) {
+        enqueuedUpdates.incrementAndGet();
+        MatchUpdateDTO existing = pending.get(matchId);
+        if (existing == null) {
+            pending.put(matchId, copyOf(update));
+        } else {
+            merge(existing, update);
+            mergedUpdates.incrementAndGet();
+        }
+
+        if (scheduledFlush == null && !flusher.isShutdown()) {
+            scheduledFlush = flusher.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static MatchUpdateDTO copyOf(MatchUpdateDTO update) {
+        MatchUpdateDTO copy = new MatchUpdateDTO();
+        merge(copy, update);
+        return copy;
+    }
+
+    private static void merge(MatchUpdateDTO target, MatchUpdateDTO newer) {
+        if (newer.getTeam1Id() != null) {
+            target.setTeam1Id(newer.getTeam1Id());
+            target.setClearTeam1(null);
+        } else if (Boolean.TRUE.equals(newer.getClearTeam1())) {
+            target.setTeam1Id(null);
+            target.setClearTeam1(true);
+        }
+        if (newer.getTeam2Id() != null) {
+            target.setTeam2Id(newer.getTeam2Id());
+            target.setClearTeam2(null);
+        } else if (Boolean.TRUE.equals(newer.getClearTeam2())) {
+            target.setTeam2Id(null);
+            target.setClearTeam2(true);
+        }
+        if (newer.getWinnerId() != null) {
+            target.setWinnerId(newer.getWinnerId());
+            target.setClearWinner(null);
+        } else if (Boolean.TRUE.equals(newer.getClearWinner())) {
+            target.setWinnerId(null);
+            target.setClearWinner(true);
+        }
+        if (newer.getScore1() != null) target.setScore1(newer.getScore1());
+        if (newer.getScore2() != null) target.setScore2(newer.getScore2());
+    }
+
+    private synchronized List<MatchBatchUpdateDTO> drain() {
+        scheduledFlush = null;
+        List<MatchBatchUpdateDTO> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Integer, MatchUpdateDTO> entry : pending.entrySet()) {
+            batch.add(new MatchBatchUpdateDTO(entry.getKey(), entry.getValue()));
+        }
+        inFlight.addAll(pending.keySet());
+        pending.clear();
+        return batch;
+    }
+
+    /**
+     * Sends everything pending as one batch. Runs only on the flusher thread.
+     */
+    private void flush() {
+        List<MatchBatchUpdateDTO> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (batch.size() == 1 || !bulkSupported || !sendBulk(batch)) {
+                sendIndividually(batch);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("API Update Error: match update flush failed: " + e.getMessage());
+            retry(batch);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        batches.incrementAndGet();
+        batchedUpdates.addAndGet(batch.size());
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        totalFlushNanos.addAndGet(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos.set(elapsed);
+    }
+
+    /**
+     * Attempts the bulk endpoint.
+     *
+     * @return False if the server does not support bulk updates and the batch still needs sending.
+     */
+    private boolean sendBulk(List<MatchBatchUpdateDTO> batch) {
+        try {
+            Response<Void> response = api.updateMatches(batch).execute();
+            if (response.isSuccessful()) {
+                sentUpdates.addAndGet(batch.size());
+                succeeded(batch);
+                return true;
+            }
+            int code = response.code();
+            if (code == 404 || code == 405 || code == 501) {
+                bulkSupported = false;
+                System.err.println("API Update Error: bulk match update not supported by server; using individual PATCH requests.");
+                return false;
+            }
+            System.err.println("API Update Error: bulk match update failed: " + response.message());
+            if (isTransient(code)) {
+                retry(batch);
+            } else {
+                giveUp(batch);
+            }
+        } catch (IOException e) {
+            System.err.println("API Update Error: " + e.getMessage());
+            retry(batch);
+        }
+        return true;
+    }
+
+    /**
+     * Sends one PATCH per match without waiting between them, then waits for all of them,
+     * so the next batch cannot overtake this one.
+     */
+    private void sendIndividually(List<MatchBatchUpdateDTO> batch) {
+        CountDownLatch remaining = new CountDownLatch(batch.size());
+        Queue<MatchBatchUpdateDTO> sent = new ConcurrentLinkedQueue<>();
+        Queue<MatchBatchUpdateDTO> retries = new ConcurrentLinkedQueue<>();
+        Queue<MatchBatchUpdateDTO> rejected = new ConcurrentLinkedQueue<>();
+        for (MatchBatchUpdateDTO update : batch) {
+            api.updateMatch(update.getMatchId(), copyOf(update)).enqueue(new Callback<>() {
+                @Override
+                public void onResponse(Call<Void> call, Response<Void> response) {
+                    if (response.isSuccessful()) {
+                        sentUpdates.incrementAndGet();
+                        sent.add(update);
+                    } else {
+                        System.err.println("API Update Error: match " + update.getMatchId() + ": " + response.message());
+                        (isTransient(response.code()) ? retries : rejected).add(update);
+                    }
+                    remaining.countDown();
+                }
+
+                @Override
+                public void onFailure(Call<Void> call, Throwable t) {
+                    System.err.println("API Update Error: match " + update.getMatchId() + ": " + t.getMessage());
+                    retries.add(update);
+                    remaining.countDown();
+                }
+            });
+        }
+        try {
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        succeeded(new ArrayList<>(sent));
+        retry(new ArrayList<>(retries));
+        giveUp(new ArrayList<>(rejected));
+    }
+
+    private static boolean isTransient(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private synchronized void succeeded(List<MatchBatchUpdateDTO> updates) {
+        for (MatchBatchUpdateDTO update : updates) {
+            attempts.remove(update.getMatchId());
+            inFlight.remove(update.getMatchId());
+        }
+    }
+
+    private synchronized void giveUp(List<MatchBatchUpdateDTO> updates) {
+        failedUpdates.addAndGet(updates.size());
+        succeeded(updates);
+    }
+
+    /**
+     * Puts failed updates back in the queue, below any newer update for the same match, and
+     * schedules a flush after the retry delay. Updates that have used up their retries are dropped.
+     */
+    private synchronized void retry(List<MatchBatchUpdateDTO> updates) {
+        int maxAttempt = 0;
+        for (MatchBatchUpdateDTO update : updates) {
+            int matchId = update.getMatchId();
+            inFlight.remove(matchId);
+            int attempt = attempts.merge(matchId, 1, Integer::sum);
+            if (attempt > maxRetries) {
+                attempts.remove(matchId);
+                failedUpdates.incrementAndGet();
+                System.err.println("API Update Error: giving up on match " + matchId + " after " + attempt + " attempts");
+                continue;
+            }
+            MatchUpdateDTO retry = copyOf(update);
+            MatchUpdateDTO newer = pending.get(matchId);
+            if (newer != null) {
+                merge(retry, newer);
+            }
+            pending.put(matchId, retry);
+            retriedUpdates.incrementAndGet();
+            maxAttempt = Math.max(maxAttempt, attempt);
+        }
+
+        if (maxAttempt > 0 && scheduledFlush == null && !flusher.isShutdown()) {
+            long delay = Math.max(flushDelayMs, RETRY_DELAY_MS << (maxAttempt - 1));
+            scheduledFlush = flusher.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends any pending updates immediately and stops the flusher thread.
+     * Called when the application exits so no result is lost.
+     */
+    public void shutdown() {
+        if (flusher.isShutdown()) {
+            return;
+        }
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of updates waiting to be flushed.
+     *
+     * @return The number of matches with pending updates.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the matches whose updates the server has not accepted yet: queued, waiting for a retry,
+     * or being sent.
+     *
+     * @return A copy of the IDs of those matches.
+     */
+    public synchronized Set<Integer> getPendingMatchIds() {
+        Set<Integer> ids = new HashSet<>(pending.keySet());
+        ids.addAll(inFlight);
+        return ids;
+    }
+
+    /**
+     * Gets the number of updates handed to the queue.
+     *
+     * @return The enqueued update count.
+     */
+    public long getEnqueuedCount() {
+        return enqueuedUpdates.get();
+    }
+
+    /**
+     * Gets the number of updates folded into an already pending update for the same match.
+     *
+     * @return The merged update count.
+     */
+    public long getMergedCount() {
+        return mergedUpdates.get();
+    }
+
+    /**
+     * Gets the number of match updates accepted by the server.
+     *
+     * @return The sent update count.
+     */
+    public long getSentCount() {
+        return sentUpdates.get();
+    }
+
+    /**
+     * Gets the number of match updates the server rejected, or that still failed after all retries.
+     *
+     * @return The failed update count.
+     */
+    public long getFailedCount() {
+        return failedUpdates.get();
+    }
+
+    /**
+     * Gets the number of times a failed match update was put back in the queue.
+     *
+     * @return The retried update count.
+     */
+    public long getRetriedCount() {
+        return retriedUpdates.get();
+    }
+
+    /**
+     * Gets the number of batches flushed.
+     *
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Gets the average number of matches per flushed batch.
+     *
+     * @return The average batch size.
+     */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) batchedUpdates.get() / count;
+    }
+
+    /**
+     * Gets the largest batch flushed so far.
+     *
+     * @return The maximum batch size.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    /**
+     * Gets the average time taken to flush a batch.
+     *
+     * @return The average flush latency in milliseconds.
+     */
+    public double getAverageFlushMillis() {
+        long count = batches.get();
+        return count == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / count;
+    }
+
+    /**
+     * Gets the longest time taken to flush a batch.
+     *
+     * @return The maximum flush latency in milliseconds.
+     */
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the time taken by the most recent flush.
+     *
+     * @return The last flush latency in milliseconds.
+     */
+    public double getLastFlushMillis() {
+        return lastFlushNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Checks whether batches are currently sent through the bulk endpoint.
+     *
+     * @return False once the server has reported that it does not support bulk updates.
+     */
+    public boolean isBulkSupported() {
+        return bulkSupported;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MatchUpdateQueue[pending=%d, enqueued=%d, merged=%d, sent=%d, failed=%d, retried=%d, batches=%d, avgBatch=%.1f, maxBatch=%d, avgFlush=%.1fms, maxFlush=%.1fms, bulk=%s]",
+                getPendingCount(), getEnqueuedCount(), getMergedCount(), getSentCount(), getFailedCount(), getRetriedCount(),
+                getBatchCount(), getAverageBatchSize(), getMaxBatchSize(), getAverageFlushMillis(),
+                getMaxFlushMillis(), bulkSupported);
+    }
+}
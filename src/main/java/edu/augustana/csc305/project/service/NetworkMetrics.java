@@ -0,0 +1,243 @@
+package edu.augustana.csc305.project.service;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records where the time goes in every API call, per endpoint.
+ *
+ * <p>Installed as the OkHttp {@link EventListener.Factory} of the {@link ApiClient}. Each call is
+ * attributed to its {@link ApiRoute} template (e.g. {@code api/tournaments/{tournamentId}/brackets}),
+ * so calls for different tournaments or matches add up under one endpoint. For every endpoint it
+ * keeps {@link LatencyHistogram}s of DNS lookup, TCP connect, TLS handshake, time to first byte,
+ * body read and total call time, plus payload bytes and failure counts. DNS, connect and TLS are
+ * only recorded when the call had to open a new connection.</p>
+ *
+ * <p>Time to first byte is measured from the start of writing the request to the arrival of the
+ * response headers. Calls answered by the {@link ApiResponseCache} without touching the network
+ * only contribute to the total time.</p>
+ */
+public class NetworkMetrics implements EventListener.Factory {
+
+    private static final String UNKNOWN_ROUTE = "(other)";
+
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    /**
+     * The measurements for one endpoint.
+     */
+    public static final class RouteStats {
+        private final String route;
+        private final LatencyHistogram dns = new LatencyHistogram();
+        private final LatencyHistogram connect = new LatencyHistogram();
+        private final LatencyHistogram tls = new LatencyHistogram();
+        private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+        private final LatencyHistogram bodyRead = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        private RouteStats(String route) {
+            this.route = route;
+        }
+
+        public String getRoute() { return route; }
+        public LatencyHistogram getDns() { return dns; }
+        public LatencyHistogram getConnect() { return connect; }
+        public LatencyHistogram getTls() { return tls; }
+        public LatencyHistogram getTimeToFirstByte() { return timeToFirstByte; }
+        public LatencyHistogram getBodyRead() { return bodyRead; }
+        public LatencyHistogram getTotal() { return total; }
+        public long getResponseBytes() { return responseBytes.get(); }
+        public long getFailures() { return failures.get(); }
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallTimer();
+    }
+
+    /**
+     * Gets the measurements for one endpoint.
+     *
+     * @param route The endpoint.
+     * @return Its statistics, or {@code null} if it has not been called yet.
+     */
+    public RouteStats getStats(ApiRoute route) {
+        return routes.get(route.getMethod() + " " + route.getTemplate());
+    }
+
+    /**
+     * Gets the measurements for every endpoint called so far, slowest total p95 first.
+     *
+     * @return A snapshot list of route statistics.
+     */
+    public List<RouteStats> getAllStats() {
+        List<RouteStats> stats = new ArrayList<>(routes.values());
+        stats.sort(Comparator.comparingDouble((RouteStats s) -> s.getTotal().getPercentileMillis(95)).reversed());
+        return stats;
+    }
+
+    /**
+     * Writes a plain-text report of all endpoints.
+     *
+     * @param out Where to write the report.
+     */
+    public void writeReport(Writer out) {
+        PrintWriter writer = new PrintWriter(out);
+        writer.println("Kronos network metrics, " + Instant.now());
+        for (RouteStats stats : getAllStats()) {
+            writer.println();
+            writer.printf("%s  (calls=%d, failures=%d, bytes=%d)%n", stats.getRoute(),
+                    stats.getTotal().getCount(), stats.getFailures(), stats.getResponseBytes());
+            writer.println("  total   " + stats.getTotal());
+            writer.println("  ttfb    " + stats.getTimeToFirstByte());
+            writer.println("  body    " + stats.getBodyRead());
+            writer.println("  dns     " + stats.getDns());
+            writer.println("  connect " + stats.getConnect());
+            writer.println("  tls     " + stats.getTls());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the report to a file, replacing any previous report.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void dump(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeReport(writer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringWriter out = new StringWriter();
+        writeReport(out);
+        return out.toString();
+    }
+
+    private RouteStats statsFor(Request request) {
+        ApiRoute route = ApiRoute.match(request.method(), request.url().encodedPath());
+        String key = route == null ? request.method() + " " + UNKNOWN_ROUTE : route.getMethod() + " " + route.getTemplate();
+        return routes.computeIfAbsent(key, RouteStats::new);
+    }
+
+    /**
+     * Collects the timestamps of a single call. OkHttp delivers the events of one call in order,
+     * so no synchronization is needed.
+     */
+    private final class CallTimer extends EventListener {
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long bodyStart;
+        private RouteStats stats;
+
+        /**
+         * Resolves the call's route once, on first use.
+         */
+        private RouteStats stats(Call call) {
+            if (stats == null) {
+                stats = statsFor(call.request());
+            }
+            return stats;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+            stats(call).dns.record(System.nanoTime() - dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            stats(call).tls.record(System.nanoTime() - secureConnectStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            stats(call).connect.record(System.nanoTime() - connectStart);
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (requestStart != 0) {
+                stats(call).timeToFirstByte.record(System.nanoTime() - requestStart);
+            }
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            RouteStats stats = stats(call);
+            stats.bodyRead.record(System.nanoTime() - bodyStart);
+            stats.responseBytes.addAndGet(byteCount);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            stats(call).total.record(System.nanoTime() - callStart);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            RouteStats stats = stats(call);
+            stats.total.record(System.nanoTime() - callStart);
+            stats.failures.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.config.ApplicationConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Singleton service that provides the {@link PointsScheme} of each league.
+ *
+ * <p>A league's scheme is read from the {@code POINTS_SCHEME_<leagueId>} configuration property,
+ * falling back to {@code POINTS_SCHEME} and then to {@code linear:10}, which awards
+ * {@code (teams - rank + 1) * 10} points. A malformed scheme is reported and the default is used.
+ * Each scheme is parsed once and kept with its compiled tables, so re-scoring any number of
+ * brackets only costs a lookup per team.</p>
+ */
+public class PointsRulesEngine {
+
+    /**
+     * The scheme used when none is configured.
+     */
+    public static final String DEFAULT_SCHEME = "linear:10";
+
+    private static PointsRulesEngine instance;
+
+    private final Map<Integer, PointsScheme> schemes = new ConcurrentHashMap<>();
+    private final PointsScheme defaultScheme = PointsScheme.parse(DEFAULT_SCHEME);
+
+    private PointsRulesEngine() {
+    }
+
+    /**
+     * Provides the singleton instance of the PointsRulesEngine.
+     *
+     * @return The shared PointsRulesEngine instance.
+     */
+    public static synchronized PointsRulesEngine getInstance() {
+        if (instance == null) {
+            instance = new PointsRulesEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the points scheme of a league.
+     *
+     * @param leagueId The league's ID.
+     * @return The league's compiled scheme.
+     */
+    public PointsScheme schemeFor(int leagueId) {
+        return schemes.computeIfAbsent(leagueId, this::load);
+    }
+
+    private PointsScheme load(int leagueId) {
+        String key = "POINTS_SCHEME_" + leagueId;
+        String scheme = ApplicationConfig.getProperty(key);
+        if (scheme == null) {
+            key = "POINTS_SCHEME";
+            scheme = ApplicationConfig.getProperty(key);
+        }
+        if (scheme == null) {
+            return defaultScheme;
+        }
+        try {
+            return PointsScheme.parse(scheme);
+        } catch (IllegalArgumentException e) {
+            System.err.println("WARNING: " + key + " is not a valid points scheme (" + e.getMessage()
+                    + "). Using default: " + DEFAULT_SCHEME);
+            return defaultScheme;
+        }
+    }
+}
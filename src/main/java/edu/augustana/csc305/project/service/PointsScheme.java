@@ -0,0 +1,175 @@
+package edu.augustana.csc305.project.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compiled set of rules that turns a team's final rank in a bracket into league points.
+ *
+ * <p>A scheme is written as rules separated by semicolons, for example
+ * {@code tiers:100,70,50,30;participation:5;cap:100}:</p>
+ * <ul>
+ * <li>{@code linear:N} - {@code (teams - rank + 1) * N} points, so last place earns {@code N}.</li>
+ * <li>{@code tiers:A,B,C,...} - points by the round a team went out in: {@code A} for the winner,
+ * {@code B} for the runner-up, {@code C} for ranks 3-4, then ranks 5-8, 9-16 and so on. Tiers
+ * beyond the list earn nothing.</li>
+ * <li>{@code participation:N} - a bonus for every team that played in the bracket.</li>
+ * <li>{@code cap:N} - the most points one team can earn from one bracket.</li>
+ * </ul>
+ * <p>At most one of {@code linear} and {@code tiers} may be given. Teams that did not play earn
+ * no points.</p>
+ *
+ * <p>For each bracket size the rules are evaluated once into a flat table indexed by rank, so
+ * scoring a standings table is an array lookup per team. Schemes are immutable and thread-safe.</p>
+ */
+public final class PointsScheme {
+
+    private final String source;
+    private final int linearStep;
+    private final int[] tiers;
+    private final int participation;
+    private final int cap;
+    private volatile int[][] tables = new int[0][];
+
+    private PointsScheme(String source, int linearStep, int[] tiers, int participation, int cap) {
+        this.source = source;
+        this.linearStep = linearStep;
+        this.tiers = tiers;
+        this.participation = participation;
+        this.cap = cap;
+    }
+
+    /**
+     * Parses a points scheme.
+     *
+     * @param scheme The rules, as described in the class documentation.
+     * @return The compiled scheme.
+     * @throws IllegalArgumentException If the scheme is malformed.
+     */
+    public static PointsScheme parse(String scheme) {
+        int linearStep = 0;
+        int[] tiers = null;
+        int participation = 0;
+        int cap = Integer.MAX_VALUE;
+        boolean hasBase = false;
+
+        for (String rule : scheme.split(";")) {
+            rule = rule.trim();
+            if (rule.isEmpty()) continue;
+            int colon = rule.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Points rule '" + rule + "' has no value");
+            }
+            String name = rule.substring(0, colon).trim().toLowerCase();
+            String value = rule.substring(colon + 1).trim();
+            switch (name) {
+                case "linear", "tiers" -> {
+                    if (hasBase) {
+                        throw new IllegalArgumentException("Points scheme can only have one of linear and tiers");
+                    }
+                    hasBase = true;
+                    if (name.equals("linear")) {
+                        linearStep = parseAmount(rule, value);
+                    } else {
+                        String[] parts = value.split(",");
+                        tiers = new int[parts.length];
+                        for (int i = 0; i < parts.length; i++) {
+                            tiers[i] = parseAmount(rule, parts[i].trim());
+                        }
+                    }
+                }
+                case "participation" -> participation = parseAmount(rule, value);
+                case "cap" -> cap = parseAmount(rule, value);
+                default -> throw new IllegalArgumentException("Unknown points rule '" + name + "'");
+            }
+        }
+        return new PointsScheme(scheme.trim(), linearStep, tiers, participation, cap);
+    }
+
+    private static int parseAmount(String rule, String value) {
+        try {
+            int amount = Integer.parseInt(value);
+            if (amount < 0) {
+                throw new IllegalArgumentException("Points rule '" + rule + "' must not be negative");
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Points rule '" + rule + "' is not a whole number");
+        }
+    }
+
+    /**
+     * Gets the lookup table of a bracket size, compiling it on first use.
+     *
+     * @param totalTeams The number of teams ranked in the bracket.
+     * @return The points for each rank; index 0 and every index above {@code totalTeams} hold 0.
+     *         The table is shared and must not be modified.
+     */
+    public int[] tableFor(int totalTeams) {
+        int[][] cached = tables;
+        if (totalTeams < cached.length && cached[totalTeams] != null) {
+            return cached[totalTeams];
+        }
+        synchronized (this) {
+            cached = tables;
+            if (totalTeams < cached.length && cached[totalTeams] != null) {
+                return cached[totalTeams];
+            }
+            // Copy on write, so readers never see a table before it is complete.
+            cached = Arrays.copyOf(cached, Math.max(totalTeams + 1, cached.length));
+            cached[totalTeams] = compile(totalTeams);
+            tables = cached;
+            return cached[totalTeams];
+        }
+    }
+
+    private int[] compile(int totalTeams) {
+        int[] table = new int[totalTeams + 2];
+        for (int rank = 1; rank <= totalTeams; rank++) {
+            long points = participation;
+            if (tiers != null) {
+                int tier = rank == 1 ? 0 : 1 + (31 - Integer.numberOfLeadingZeros(rank - 1));
+                if (tier < tiers.length) points += tiers[tier];
+            } else {
+                points += (long) (totalTeams - rank + 1) * linearStep;
+            }
+            table[rank] = (int) Math.min(points, cap);
+        }
+        return table;
+    }
+
+    /**
+     * Gets the points for one rank.
+     *
+     * @param rank The final rank, starting at 1.
+     * @param totalTeams The number of teams ranked in the bracket.
+     * @return The points; 0 for a rank outside the bracket.
+     */
+    public int pointsFor(int rank, int totalTeams) {
+        if (totalTeams <= 0 || rank < 1 || rank > totalTeams) return 0;
+        return tableFor(totalTeams)[rank];
+    }
+
+    /**
+     * Scores the standings of one bracket.
+     *
+     * @param standingsById A Map where Key = Team ID, Value = Rank, as produced by
+     *                      {@link BracketServices#generatePointsStandings}.
+     * @return A Map where Key = Team ID, Value = Points.
+     */
+    public Map<Integer, Integer> score(Map<Integer, Integer> standingsById) {
+        int[] table = tableFor(standingsById.size());
+        Map<Integer, Integer> points = new HashMap<>(standingsById.size() * 4 / 3 + 1);
+        for (Map.Entry<Integer, Integer> entry : standingsById.entrySet()) {
+            int rank = entry.getValue();
+            points.put(entry.getKey(), rank >= 1 && rank < table.length ? table[rank] : 0);
+        }
+        return points;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
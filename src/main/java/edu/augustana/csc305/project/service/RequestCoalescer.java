@@ -0,0 +1,197 @@
+package edu.augustana.csc305.project.service;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks in-flight GET requests so that concurrent callers asking for the same URL share a single
+ * network round trip and a single decoded result ("single-flight").
+ *
+ * <p>The first caller for a key becomes the leader and performs the request; callers arriving while
+ * it is in flight become followers and wait on the leader's result. Once the leader's response
+ * arrives the key is released, so later calls go to the network again. Error bodies are buffered so
+ * every caller can read its own copy.</p>
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * A single shared request and the number of callers still waiting on it.
+     */
+    static final class Flight {
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private final String key;
+        private final Flight shared;
+
+        private Flight(String key, Flight shared) {
+            this.key = key;
+            this.shared = shared == null ? this : shared;
+        }
+
+        private Flight follower() {
+            Flight view = new Flight(key, this);
+            result.whenComplete((outcome, error) -> {
+                if (error != null) {
+                    view.result.completeExceptionally(error);
+                } else {
+                    view.result.complete(outcome);
+                }
+            });
+            return view;
+        }
+
+        boolean isLeader() {
+            return shared == this;
+        }
+
+        CompletableFuture<Outcome> result() {
+            return result;
+        }
+    }
+
+    /**
+     * The leader's response, with any error body held in memory so it can be handed out repeatedly.
+     */
+    static final class Outcome {
+        private final Response<?> response;
+        private final byte[] errorBytes;
+        private final MediaType errorType;
+
+        private Outcome(Response<?> response, byte[] errorBytes, MediaType errorType) {
+            this.response = response;
+            this.errorBytes = errorBytes;
+            this.errorType = errorType;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Response<T> toResponse() {
+            if (response.isSuccessful()) {
+                return (Response<T>) response;
+            }
+            return Response.error(ResponseBody.create(errorBytes, errorType), response.raw());
+        }
+    }
+
+    /**
+     * Joins the in-flight request for the given key, or starts a new one if none is running.
+     *
+     * @param key The request identity (method and full URL).
+     * @return A flight whose {@link Flight#isLeader()} tells the caller whether it must perform the request.
+     */
+    Flight join(String key) {
+        Flight started = new Flight(key, null);
+        // Joining and leaving run under the key's lock, so nobody can join a flight that has just been abandoned.
+        Flight joined = inFlight.compute(key, (k, existing) -> {
+            if (existing == null) return started;
+            existing.waiters.incrementAndGet();
+            return existing;
+        });
+        if (joined == started) {
+            misses.incrementAndGet();
+            return started;
+        }
+        hits.incrementAndGet();
+        return joined.follower();
+    }
+
+    /**
+     * Publishes the leader's response to all followers and releases the key.
+     *
+     * @param flight The leader's flight.
+     * @param response The response received from the server.
+     * @throws IOException If the error body could not be buffered.
+     */
+    void complete(Flight flight, Response<?> response) throws IOException {
+        inFlight.remove(flight.key, flight);
+        byte[] errorBytes = null;
+        MediaType errorType = null;
+        if (!response.isSuccessful() && response.errorBody() != null) {
+            try (ResponseBody errorBody = response.errorBody()) {
+                errorType = errorBody.contentType();
+                errorBytes = errorBody.bytes();
+            } catch (IOException e) {
+                flight.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+        flight.result.complete(new Outcome(response, errorBytes == null ? new byte[0] : errorBytes, errorType));
+    }
+
+    /**
+     * Fails the leader's flight, propagating the error to all followers, and releases the key.
+     *
+     * @param flight The leader's flight.
+     * @param error The failure raised by the request.
+     */
+    void fail(Flight flight, Throwable error) {
+        inFlight.remove(flight.key, flight);
+        flight.result.completeExceptionally(error);
+    }
+
+    /**
+     * Withdraws one caller from a flight. When the last caller leaves, the key is released at once,
+     * so a later call starts a new request instead of joining the one about to be cancelled.
+     *
+     * @param flight The flight to leave.
+     * @return True if no callers remain, meaning the underlying request may be cancelled.
+     */
+    boolean leave(Flight flight) {
+        Flight shared = flight.shared;
+        boolean[] left = new boolean[1];
+        boolean[] abandoned = new boolean[1];
+        inFlight.computeIfPresent(shared.key, (k, current) -> {
+            if (current != shared) return current;
+            left[0] = true;
+            abandoned[0] = shared.waiters.decrementAndGet() == 0;
+            return abandoned[0] ? null : current;
+        });
+        if (!left[0]) {
+            // The flight has already finished and released its key.
+            abandoned[0] = shared.waiters.decrementAndGet() == 0;
+        }
+        return abandoned[0];
+    }
+
+    /**
+     * Gets the number of requests that were served by joining an in-flight request.
+     *
+     * @return The coalescing hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests that had to go to the network.
+     *
+     * @return The coalescing miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of distinct requests currently in flight.
+     *
+     * @return The in-flight request count.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCoalescer[hits=" + getHitCount() + ", misses=" + getMissCount() + ", inFlight=" + getInFlightCount() + "]";
+    }
+}
@@ -0,0 +1,140 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.config.ApplicationConfig;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.BracketSnapshot;
+import edu.augustana.csc305.project.model.domain.Match;
+import edu.augustana.csc305.project.model.domain.Team;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-level undo and redo of the results recorded in one bracket.
+ *
+ * <p>Every result goes through the {@link WinnerPropagationEngine} and the versions before and
+ * after it are kept as {@link BracketSnapshot}s. Consecutive versions share everything except the
+ * matches the result changed, so a deep history stays small. Undoing restores the previous
+ * version: only the matches that differ between the two versions are changed, and only those are
+ * sent to the API, instead of reloading or resending the whole bracket.</p>
+ *
+ * <p>The number of undo steps is limited by the {@code UNDO_LIMIT} configuration property.
+ * A history must be used on the JavaFX application thread.</p>
+ */
+public class ResultHistory {
+
+    private static final int DEFAULT_UNDO_LIMIT = 100;
+
+    private final WinnerPropagationEngine engine;
+    private final Bracket bracket;
+    private final int limit;
+    private final Deque<BracketSnapshot> undoStack = new ArrayDeque<>();
+    private final Deque<BracketSnapshot> redoStack = new ArrayDeque<>();
+    private final ReadOnlyBooleanWrapper canUndo = new ReadOnlyBooleanWrapper(this, "canUndo");
+    private final ReadOnlyBooleanWrapper canRedo = new ReadOnlyBooleanWrapper(this, "canRedo");
+    private BracketSnapshot current;
+
+    /**
+     * Starts a history at the bracket's current state.
+     *
+     * @param engine The engine that records and restores results.
+     * @param bracket The bracket whose results are tracked.
+     */
+    public ResultHistory(WinnerPropagationEngine engine, Bracket bracket) {
+        this.engine = engine;
+        this.bracket = bracket;
+        this.limit = Math.max(1, ApplicationConfig.getIntProperty("UNDO_LIMIT", DEFAULT_UNDO_LIMIT));
+        this.current = BracketSnapshot.of(bracket);
+    }
+
+    /**
+     * Records a result as a new undo step. Any redo steps are discarded.
+     *
+     * @param match The match that was decided.
+     * @param winner The winning team, or {@code null} to clear the result.
+     * @return The matches that changed; empty if nothing changed, in which case no step is added.
+     */
+    public List<Match> recordResult(Match match, Team winner) {
+        List<Match> changed = engine.recordResult(bracket, match, winner);
+        if (!changed.isEmpty()) {
+            undoStack.push(current);
+            if (undoStack.size() > limit) {
+                undoStack.removeLast();
+            }
+            redoStack.clear();
+            current = current.capture(changed);
+            updateAvailability();
+        }
+        return changed;
+    }
+
+    /**
+     * Sets several matches to given states as a single undo step, for example to commit a
+     * {@link edu.augustana.csc305.project.model.domain.BracketOverlay what-if scenario}. Any redo
+     * steps are discarded.
+     *
+     * @param states The new state of each match to change.
+     * @return The matches that changed; empty if nothing changed, in which case no step is added.
+     */
+    public List<Match> applyStates(Map<Match, BracketSnapshot.MatchState> states) {
+        BracketSnapshot target = current;
+        for (Map.Entry<Match, BracketSnapshot.MatchState> entry : states.entrySet()) {
+            target = target.with(entry.getKey(), entry.getValue());
+        }
+        List<Match> changed = engine.restore(current, target);
+        if (!changed.isEmpty()) {
+            undoStack.push(current);
+            if (undoStack.size() > limit) {
+                undoStack.removeLast();
+            }
+            redoStack.clear();
+            current = current.capture(changed);
+            updateAvailability();
+        }
+        return changed;
+    }
+
+    /**
+     * Reverts the most recent result.
+     *
+     * @return The matches that changed; empty if there was nothing to undo.
+     */
+    public List<Match> undo() {
+        if (undoStack.isEmpty()) return List.of();
+        BracketSnapshot previous = undoStack.pop();
+        List<Match> changed = engine.restore(current, previous);
+        redoStack.push(current);
+        current = previous;
+        updateAvailability();
+        return changed;
+    }
+
+    /**
+     * Re-applies the most recently undone result.
+     *
+     * @return The matches that changed; empty if there was nothing to redo.
+     */
+    public List<Match> redo() {
+        if (redoStack.isEmpty()) return List.of();
+        BracketSnapshot next = redoStack.pop();
+        List<Match> changed = engine.restore(current, next);
+        undoStack.push(current);
+        current = next;
+        updateAvailability();
+        return changed;
+    }
+
+    private void updateAvailability() {
+        canUndo.set(!undoStack.isEmpty());
+        canRedo.set(!redoStack.isEmpty());
+    }
+
+    public boolean canUndo() { return canUndo.get(); }
+    public ReadOnlyBooleanProperty canUndoProperty() { return canUndo.getReadOnlyProperty(); }
+    public boolean canRedo() { return canRedo.get(); }
+    public ReadOnlyBooleanProperty canRedoProperty() { return canRedo.getReadOnlyProperty(); }
+}
@@ -0,0 +1,381 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.BracketGraph;
+import edu.augustana.csc305.project.model.domain.Match;
+import edu.augustana.csc305.project.model.domain.Round;
+import edu.augustana.csc305.project.model.domain.Team;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Live standings of one bracket, kept up to date as results arrive.
+ *
+ * <p>The engine listens to the teams, winner and completion of every match. When one of them
+ * changes, only that match's contribution is taken back and added again: the slots its teams hold,
+ * which sets the last round each team reached, and the win it credits. Corrections and reversals
+ * therefore need no special handling. The ranking is the same as
+ * {@link BracketServices#generatePointsStandings(BracketGraph)}: teams are ordered by round reached,
+ * then wins, then the order in which they first appear, and teams that reached the same round
+ * share a rank.</p>
+ *
+ * <p>Teams are kept in a set sorted by the same packed ranking keys, and the number of teams per
+ * round reached in a running table, so {@link #getRank(int)} is a constant-time
+ * lookup and {@link #getTopTeamIds(int)} walks only the first {@code k} teams. Adding or removing
+ * rounds or matches rebuilds the standings. An engine must be used on the JavaFX application
+ * thread and should be {@link #dispose() disposed} when it is no longer needed.</p>
+ */
+public class StandingsEngine {
+
+    private final Bracket bracket;
+    private final ReadOnlyLongWrapper version = new ReadOnlyLongWrapper(this, "version");
+
+    private Match[] matches = new Match[0];
+    private int[] roundOfMatch = new int[0];
+    private int[] slotTeam = new int[0];
+    private int[] creditedWinner = new int[0];
+    private InvalidationListener[] watchers = new InvalidationListener[0];
+    private int roundCount;
+
+    private final Map<Integer, Integer> teamIndex = new HashMap<>();
+    private int[] teamIds = new int[0];
+    private int[][] teamSlots = new int[0][];
+    private int[] teamSlotCount = new int[0];
+    private int[] wins = new int[0];
+    private int[] roundReached = new int[0];
+    private long[] keys = new long[0];
+    private int teamCount;
+
+    private final TreeSet<Long> order = new TreeSet<>();
+    private int[] teamsInRound = new int[1];
+    private int[] teamsAboveRound = new int[1];
+
+    private final InvalidationListener structureListener = observable -> rebuild();
+    private final ListChangeListener<Round> roundsListener = change -> {
+        while (change.next()) {
+            change.getRemoved().forEach(round -> round.getMatches().removeListener(structureListener));
+            change.getAddedSubList().forEach(round -> round.getMatches().addListener(structureListener));
+        }
+        rebuild();
+    };
+
+    /**
+     * Starts tracking the standings of a bracket.
+     *
+     * @param bracket The bracket.
+     */
+    public StandingsEngine(Bracket bracket) {
+        this.bracket = bracket;
+        bracket.getRounds().forEach(round -> round.getMatches().addListener(structureListener));
+        bracket.getRounds().addListener(roundsListener);
+        rebuild();
+    }
+
+    /**
+     * Stops listening to the bracket. The standings keep their last state.
+     */
+    public void dispose() {
+        bracket.getRounds().removeListener(roundsListener);
+        bracket.getRounds().forEach(round -> round.getMatches().removeListener(structureListener));
+        unwatchMatches();
+    }
+
+    /**
+     * Gets the bracket whose standings are tracked.
+     *
+     * @return The bracket.
+     */
+    public Bracket getBracket() {
+        return bracket;
+    }
+
+    /**
+     * Gets the rank of a team.
+     *
+     * @param teamId The team's ID.
+     * @return Its rank, starting at 1, or 0 if the team is not playing in the bracket.
+     */
+    public int getRank(int teamId) {
+        Integer team = teamIndex.get(teamId);
+        if (team == null || roundReached[team] == 0) return 0;
+        if (order.first() == keys[team]) return 1;
+        // Only the leader ranks alone; every other team shares the rank of its round.
+        return 1 + Math.max(1, teamsAboveRound[roundReached[team]]);
+    }
+
+    /**
+     * Gets the last round a team reached.
+     *
+     * @param teamId The team's ID.
+     * @return The round number, starting at 1, or 0 if the team is not playing in the bracket.
+     */
+    public int getRoundReached(int teamId) {
+        Integer team = teamIndex.get(teamId);
+        return team == null ? 0 : roundReached[team];
+    }
+
+    /**
+     * Gets the number of completed matches a team won.
+     *
+     * @param teamId The team's ID.
+     * @return The win count.
+     */
+    public int getWins(int teamId) {
+        Integer team = teamIndex.get(teamId);
+        return team == null ? 0 : wins[team];
+    }
+
+    /**
+     * Gets the number of teams playing in the bracket.
+     *
+     * @return The number of ranked teams.
+     */
+    public int getTeamCount() {
+        return order.size();
+    }
+
+    /**
+     * Gets the best teams in ranking order.
+     *
+     * @param k The number of teams wanted.
+     * @return The IDs of at most {@code k} teams, best first.
+     */
+    public List<Integer> getTopTeamIds(int k) {
+        List<Integer> top = new ArrayList<>(Math.min(k, order.size()));
+        Iterator<Long> iterator = order.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(teamIds[teamOf(iterator.next())]);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the complete standings, in the form returned by
+     * {@link BracketServices#generatePointsStandings(Bracket)}.
+     *
+     * @return A Map where Key = Team ID, Value = Rank (1st, 2nd, 3rd...), in ranking order.
+     */
+    public Map<Integer, Integer> getStandings() {
+        Map<Integer, Integer> standings = new LinkedHashMap<>(order.size() * 4 / 3 + 1);
+        for (Long key : order) {
+            int teamId = teamIds[teamOf(key)];
+            standings.put(teamId, getRank(teamId));
+        }
+        return standings;
+    }
+
+    /**
+     * Gets a counter that goes up whenever the standings change, for refreshing a view.
+     *
+     * @return The version property.
+     */
+    public ReadOnlyLongProperty versionProperty() {
+        return version.getReadOnlyProperty();
+    }
+
+    /**
+     * Re-reads the bracket's structure and recomputes every team from scratch.
+     */
+    private void rebuild() {
+        unwatchMatches();
+
+        List<Match> all = new ArrayList<>();
+        List<Integer> roundNumbers = new ArrayList<>();
+        List<Round> rounds = bracket.getRounds();
+        for (int r = 0; r < rounds.size(); r++) {
+            for (Match match : rounds.get(r).getMatches()) {
+                all.add(match);
+                roundNumbers.add(r + 1);
+            }
+        }
+        roundCount = rounds.size();
+        matches = all.toArray(new Match[0]);
+        roundOfMatch = new int[matches.length];
+        for (int m = 0; m < matches.length; m++) {
+            roundOfMatch[m] = roundNumbers.get(m);
+        }
+        slotTeam = new int[matches.length * 2];
+        creditedWinner = new int[matches.length];
+        Arrays.fill(slotTeam, BracketGraph.NONE);
+        Arrays.fill(creditedWinner, BracketGraph.NONE);
+
+        teamIndex.clear();
+        teamCount = 0;
+        teamIds = new int[16];
+        teamSlots = new int[16][];
+        teamSlotCount = new int[16];
+        wins = new int[16];
+        roundReached = new int[16];
+        keys = new long[16];
+        order.clear();
+        teamsInRound = new int[roundCount + 2];
+        teamsAboveRound = new int[roundCount + 2];
+
+        watchers = new InvalidationListener[matches.length];
+        for (int m = 0; m < matches.length; m++) {
+            int index = m;
+            watchers[m] = observable -> update(index);
+            matches[m].team1Property().addListener(watchers[m]);
+            matches[m].team2Property().addListener(watchers[m]);
+            matches[m].winnerProperty().addListener(watchers[m]);
+            matches[m].isCompleteProperty().addListener(watchers[m]);
+            apply(m);
+        }
+        countRoundsAbove();
+        version.set(version.get() + 1);
+    }
+
+    private void unwatchMatches() {
+        for (int m = 0; m < watchers.length; m++) {
+            matches[m].team1Property().removeListener(watchers[m]);
+            matches[m].team2Property().removeListener(watchers[m]);
+            matches[m].winnerProperty().removeListener(watchers[m]);
+            matches[m].isCompleteProperty().removeListener(watchers[m]);
+        }
+        watchers = new InvalidationListener[0];
+    }
+
+    /**
+     * Takes back the old contribution of a match and adds its current one.
+     */
+    private void update(int m) {
+        if (apply(m)) {
+            countRoundsAbove();
+            version.set(version.get() + 1);
+        }
+    }
+
+    /**
+     * Brings the slots and the credited win of a match in line with the match.
+     *
+     * @return {@code true} if anything changed.
+     */
+    private boolean apply(int m) {
+        Match match = matches[m];
+        boolean changed = setSlot(2 * m, indexOf(match.getTeam1()));
+        changed |= setSlot(2 * m + 1, indexOf(match.getTeam2()));
+
+        int winner = match.isComplete() ? indexOf(match.getWinner()) : BracketGraph.NONE;
+        int previous = creditedWinner[m];
+        if (winner != previous) {
+            creditedWinner[m] = winner;
+            if (previous != BracketGraph.NONE) {
+                wins[previous]--;
+                rekey(previous);
+            }
+            if (winner != BracketGraph.NONE) {
+                wins[winner]++;
+                rekey(winner);
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean setSlot(int slot, int team) {
+        int previous = slotTeam[slot];
+        if (previous == team) return false;
+        slotTeam[slot] = team;
+        if (previous != BracketGraph.NONE) {
+            removeSlot(previous, slot);
+            rekey(previous);
+        }
+        if (team != BracketGraph.NONE) {
+            addSlot(team, slot);
+            rekey(team);
+        }
+        return true;
+    }
+
+    private void addSlot(int team, int slot) {
+        int[] slots = teamSlots[team];
+        if (slots == null) {
+            slots = teamSlots[team] = new int[4];
+        } else if (teamSlotCount[team] == slots.length) {
+            slots = teamSlots[team] = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[teamSlotCount[team]++] = slot;
+    }
+
+    private void removeSlot(int team, int slot) {
+        int[] slots = teamSlots[team];
+        int count = teamSlotCount[team];
+        for (int i = 0; i < count; i++) {
+            if (slots[i] == slot) {
+                slots[i] = slots[count - 1];
+                teamSlotCount[team] = count - 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the round reached and first slot of a team from its slots and moves the team to
+     * its new place in the ranking.
+     */
+    private void rekey(int team) {
+        int round = 0;
+        int first = Integer.MAX_VALUE;
+        for (int i = 0; i < teamSlotCount[team]; i++) {
+            int slot = teamSlots[team][i];
+            round = Math.max(round, roundOfMatch[slot / 2]);
+            first = Math.min(first, slot);
+        }
+
+        if (roundReached[team] != 0) {
+            order.remove(keys[team]);
+            teamsInRound[roundReached[team]]--;
+        }
+        roundReached[team] = round;
+        if (round != 0) {
+            keys[team] = BracketServices.rankingKey(round, wins[team], first);
+            order.add(keys[team]);
+            teamsInRound[round]++;
+        }
+    }
+
+    private void countRoundsAbove() {
+        int above = 0;
+        for (int round = roundCount + 1; round >= 1; round--) {
+            teamsAboveRound[round] = above;
+            above += teamsInRound[round];
+        }
+    }
+
+    /**
+     * Finds the team of a ranking key, whose low bits are the team's first slot.
+     */
+    private int teamOf(long key) {
+        return slotTeam[BracketServices.rankingPosition(key)];
+    }
+
+    private int indexOf(Team team) {
+        if (team == null) return BracketGraph.NONE;
+        Integer index = teamIndex.get(team.getTeamId());
+        if (index != null) return index;
+
+        if (teamCount == teamIds.length) {
+            int capacity = teamCount * 2;
+            teamIds = Arrays.copyOf(teamIds, capacity);
+            teamSlots = Arrays.copyOf(teamSlots, capacity);
+            teamSlotCount = Arrays.copyOf(teamSlotCount, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            roundReached = Arrays.copyOf(roundReached, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        teamIds[teamCount] = team.getTeamId();
+        teamIndex.put(team.getTeamId(), teamCount);
+        return teamCount++;
+    }
+}
@@ -0,0 +1,239 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.config.ApplicationConfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton service that runs all background work (API calls, data mapping) for the application.
+ *
+ * <p>Tasks run on named virtual threads ({@code kronos-task-N}). The number of tasks allowed to run
+ * at the same time is bounded by the {@code TASK_MAX_CONCURRENCY} configuration property; tasks
+ * submitted beyond that limit wait in line until a slot frees up. The service keeps simple counters
+ * for queue depth, active tasks and task latency so slow stations can be diagnosed at runtime.</p>
+ *
+ * <p>Controllers submit their JavaFX {@link javafx.concurrent.Task}s through {@link #execute(Runnable)}
+ * instead of starting a new platform thread per call.</p>
+ */
+public class TaskExecutorService implements Executor {
+
+    private static final String THREAD_NAME_PREFIX = "kronos-task-";
+    private static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private static TaskExecutorService instance;
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    private TaskExecutorService(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+    }
+
+    /**
+     * Provides the singleton instance of the TaskExecutorService, creating it on first use
+     * with the concurrency limit read from {@link ApplicationConfig}.
+     *
+     * @return The shared TaskExecutorService instance.
+     */
+    public static synchronized TaskExecutorService getInstance() {
+        if (instance == null) {
+            instance = new TaskExecutorService(
+                    ApplicationConfig.getIntProperty("TASK_MAX_CONCURRENCY", DEFAULT_MAX_CONCURRENCY));
+        }
+        return instance;
+    }
+
+    /**
+     * Submits a task for background execution. JavaFX {@code Task}s are {@link Runnable}s,
+     * so controllers pass them here directly.
+     *
+     * @param task The task to run.
+     */
+    @Override
+    public void execute(Runnable task) {
+        submittedTasks.incrementAndGet();
+        queuedTasks.incrementAndGet();
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> runBounded(task, enqueuedAt));
+    }
+
+    /**
+     * Submits a value-returning task for background execution.
+     *
+     * @param task The task to run.
+     * @param <T> The result type of the task.
+     * @return A {@link Future} that completes with the task's result or exception.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Waits for a concurrency slot, runs the task and records its timing.
+     */
+    private void runBounded(Runnable task, long enqueuedAt) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queuedTasks.decrementAndGet();
+            failedTasks.incrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        queuedTasks.decrementAndGet();
+        activeTasks.incrementAndGet();
+        totalWaitNanos.addAndGet(startedAt - enqueuedAt);
+
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            failedTasks.incrementAndGet();
+            System.err.println("Background task failed on " + Thread.currentThread().getName() + ": " + e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            totalRunNanos.addAndGet(elapsed);
+            maxRunNanos.accumulateAndGet(elapsed, Math::max);
+            completedTasks.incrementAndGet();
+            activeTasks.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Stops accepting new tasks and waits briefly for running tasks to finish.
+     * Called when the application exits.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the configured maximum number of tasks that may run at once.
+     *
+     * @return The concurrency limit.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the number of tasks currently waiting for a free concurrency slot.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueueDepth() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return The active task count.
+     */
+    public int getActiveCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * Gets the total number of tasks submitted since startup.
+     *
+     * @return The submitted task count.
+     */
+    public long getSubmittedCount() {
+        return submittedTasks.get();
+    }
+
+    /**
+     * Gets the total number of tasks that have finished running (successfully or not).
+     *
+     * @return The completed task count.
+     */
+    public long getCompletedCount() {
+        return completedTasks.get();
+    }
+
+    /**
+     * Gets the number of tasks that threw an uncaught exception or were interrupted while waiting.
+     *
+     * @return The failed task count.
+     */
+    public long getFailedCount() {
+        return failedTasks.get();
+    }
+
+    /**
+     * Gets the average time a task spent waiting for a concurrency slot.
+     *
+     * @return The average queue wait in milliseconds.
+     */
+    public double getAverageWaitMillis() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / completed;
+    }
+
+    /**
+     * Gets the average running time of completed tasks.
+     *
+     * @return The average task latency in milliseconds.
+     */
+    public double getAverageRunMillis() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : totalRunNanos.get() / 1_000_000.0 / completed;
+    }
+
+    /**
+     * Gets the longest running time seen for a single task.
+     *
+     * @return The maximum task latency in milliseconds.
+     */
+    public double getMaxRunMillis() {
+        return maxRunNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TaskExecutorService[limit=%d, active=%d, queued=%d, completed=%d, failed=%d, avgWait=%.1fms, avgRun=%.1fms, maxRun=%.1fms]",
+                maxConcurrency, getActiveCount(), getQueueDepth(), getCompletedCount(), getFailedCount(),
+                getAverageWaitMillis(), getAverageRunMillis(), getMaxRunMillis());
+    }
+}
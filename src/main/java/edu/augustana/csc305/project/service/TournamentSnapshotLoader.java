@@ -0,0 +1,282 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.model.api.CourtDTO;
+import edu.augustana.csc305.project.model.api.TeamDTO;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.Court;
+import edu.augustana.csc305.project.model.domain.ModelTransaction;
+import edu.augustana.csc305.project.model.domain.Team;
+import edu.augustana.csc305.project.model.domain.TeamRegistry;
+import edu.augustana.csc305.project.model.domain.Tournament;
+import edu.augustana.csc305.project.model.domain.User;
+import javafx.application.Platform;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Loads a tournament's teams, courts, referees and brackets concurrently.
+ *
+ * <p>All requested resources are fetched at the same time with asynchronous Retrofit calls, so a
+ * screen is ready after the slowest single request instead of after the sum of all of them. No
+ * background thread is held while the requests are in flight. When every request has finished,
+ * the results are applied to the {@link Tournament}'s observable lists in one JavaFX update and one
+ * {@link ModelTransaction}, so listeners never see a mix of old and new resources and the
+ * tournament's revision goes up once. Brackets are merged with
+ * {@link Tournament#mergeBrackets(List, Set)} rather than replaced, so brackets that are already
+ * loaded keep their identity, and results still queued on the {@link MatchUpdateQueue} are not
+ * reverted.</p>
+ *
+ * <p>A resource that fails to load is reported in {@link Snapshot#getFailures()} and its list in
+ * the tournament is left as it was; the other resources are still applied. A load can be
+ * cancelled through its {@link Handle}, for example when the user leaves the screen, in which
+ * case the outstanding requests are cancelled and nothing is applied.</p>
+ */
+public class TournamentSnapshotLoader {
+
+    /**
+     * The tournament resources that can be loaded.
+     */
+    public enum Resource { TEAMS, COURTS, REFEREES, BRACKETS }
+
+    /**
+     * The resources loaded in one pass. Lists of resources that were not requested or
+     * failed to load are {@code null}.
+     */
+    public static final class Snapshot {
+        private final List<Team> teams;
+        private final List<Court> courts;
+        private final List<User> referees;
+        private final List<Bracket> brackets;
+        private final Map<Resource, Throwable> failures;
+
+        private Snapshot(List<Team> teams, List<Court> courts, List<User> referees, List<Bracket> brackets,
+                         Map<Resource, Throwable> failures) {
+            this.teams = teams;
+            this.courts = courts;
+            this.referees = referees;
+            this.brackets = brackets;
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        public List<Team> getTeams() { return teams; }
+        public List<Court> getCourts() { return courts; }
+        public List<User> getReferees() { return referees; }
+        public List<Bracket> getBrackets() { return brackets; }
+
+        /**
+         * Gets the resources that could not be loaded, with the reason for each.
+         *
+         * @return The failed resources; empty if everything loaded.
+         */
+        public Map<Resource, Throwable> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Checks whether every requested resource was loaded.
+         *
+         * @return True if there were no failures.
+         */
+        public boolean isComplete() {
+            return failures.isEmpty();
+        }
+    }
+
+    /**
+     * Controls a load in progress.
+     */
+    public static final class Handle {
+        private final List<Call<?>> calls = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Snapshot> result = new CompletableFuture<>();
+        private volatile boolean cancelled;
+
+        /**
+         * Cancels the outstanding requests. The snapshot is not applied to the tournament and
+         * the completion callback is not called.
+         */
+        public void cancel() {
+            cancelled = true;
+            for (Call<?> call : calls) {
+                call.cancel();
+            }
+            result.cancel(false);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Gets a future for the loaded snapshot. It completes before the snapshot is applied
+         * to the tournament.
+         *
+         * @return The future snapshot.
+         */
+        public CompletableFuture<Snapshot> getResult() {
+            return result;
+        }
+    }
+
+    private final KronosApi api;
+
+    /**
+     * Constructs a loader that uses the shared {@link ApiClient}.
+     */
+    public TournamentSnapshotLoader() {
+        this(ApiClient.getInstance().getKronosApi());
+    }
+
+    /**
+     * Constructs a loader that uses the given API.
+     *
+     * @param api The API to load from.
+     */
+    public TournamentSnapshotLoader(KronosApi api) {
+        this.api = api;
+    }
+
+    /**
+     * Starts loading the given resources of a tournament.
+     *
+     * @param tournament The tournament to load and update.
+     * @param resources The resources to load.
+     * @param onApplied Called on the JavaFX application thread once the snapshot has been applied
+     *                  to the tournament; may be {@code null}.
+     * @return A handle that can cancel the load.
+     */
+    public Handle load(Tournament tournament, Set<Resource> resources, Consumer<Snapshot> onApplied) {
+        Handle handle = new Handle();
+        int tournamentId = tournament.getTournamentId();
+        TeamRegistry registry = tournament.getTeamRegistry();
+        Map<Resource, Throwable> failures = Collections.synchronizedMap(new EnumMap<>(Resource.class));
+
+        CompletableFuture<List<Team>> teams = resources.contains(Resource.TEAMS)
+                ? fetch(handle, Resource.TEAMS, api.getTeamsForTournament(tournamentId), failures).thenApply(dtos -> {
+                    if (dtos == null) return null;
+                    List<Team> list = new ArrayList<>(dtos.size());
+                    for (TeamDTO dto : dtos) {
+                        list.add(registry.intern(dto.getTeamId(), dto.getName()));
+                    }
+                    return list;
+                })
+                : CompletableFuture.completedFuture(null);
+
+        CompletableFuture<List<Court>> courts = resources.contains(Resource.COURTS)
+                ? fetch(handle, Resource.COURTS, api.getCourtsForTournament(tournamentId), failures).thenApply(dtos -> {
+                    if (dtos == null) return null;
+                    List<Court> list = new ArrayList<>(dtos.size());
+                    for (CourtDTO dto : dtos) {
+                        Court court = new Court(dto.getName(), true);
+                        court.setCourtId(dto.getCourtId());
+                        list.add(court);
+                    }
+                    return list;
+                })
+                : CompletableFuture.completedFuture(null);
+
+        CompletableFuture<List<User>> referees = resources.contains(Resource.REFEREES)
+                ? fetch(handle, Resource.REFEREES, api.getRefereesForTournament(tournamentId), failures)
+                : CompletableFuture.completedFuture(null);
+
+        CompletableFuture<List<Bracket>> brackets = resources.contains(Resource.BRACKETS)
+                ? fetch(handle, Resource.BRACKETS, api.getBracketsForTournamentNegotiated(tournamentId), failures)
+                        .thenApply(body -> decodeBrackets(body, registry, failures))
+                : CompletableFuture.completedFuture(null);
+
+        CompletableFuture.allOf(teams, courts, referees, brackets).thenRun(() -> {
+            if (handle.isCancelled()) return;
+            Snapshot snapshot = new Snapshot(teams.join(), courts.join(), referees.join(), brackets.join(),
+                    new EnumMap<>(failures));
+            handle.result.complete(snapshot);
+            Platform.runLater(() -> {
+                if (handle.isCancelled()) return;
+                apply(tournament, snapshot);
+                if (onApplied != null) onApplied.accept(snapshot);
+            });
+        });
+        return handle;
+    }
+
+    /**
+     * Starts loading every tournament resource.
+     *
+     * @param tournament The tournament to load and update.
+     * @param onApplied Called on the JavaFX application thread once the snapshot has been applied; may be {@code null}.
+     * @return A handle that can cancel the load.
+     */
+    public Handle loadAll(Tournament tournament, Consumer<Snapshot> onApplied) {
+        return load(tournament, EnumSet.allOf(Resource.class), onApplied);
+    }
+
+    /**
+     * Sends one request. The future completes with the body, or with {@code null} after recording
+     * a failure, so one failed resource never fails the whole snapshot.
+     */
+    private <T> CompletableFuture<T> fetch(Handle handle, Resource resource, Call<T> call,
+                                           Map<Resource, Throwable> failures) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        handle.calls.add(call);
+        if (handle.isCancelled()) {
+            call.cancel();
+        }
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    future.complete(response.body());
+                } else {
+                    failures.put(resource, new IOException("Failed to load " + resource.name().toLowerCase()
+                            + " (" + response.code() + "): " + response.message()));
+                    future.complete(null);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                failures.put(resource, t);
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    private static List<Bracket> decodeBrackets(ResponseBody body, TeamRegistry registry,
+                                                Map<Resource, Throwable> failures) {
+        if (body == null) return null;
+        try (body) {
+            return BracketDecoder.decode(body, registry);
+        } catch (IOException | RuntimeException e) {
+            failures.put(Resource.BRACKETS, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the tournament's lists with the loaded ones, merging the brackets into the live ones.
+     * Runs on the JavaFX application thread.
+     */
+    private static void apply(Tournament tournament, Snapshot snapshot) {
+        ModelTransaction.run(() -> {
+            if (snapshot.getTeams() != null) tournament.getTeams().setAll(snapshot.getTeams());
+            if (snapshot.getCourts() != null) tournament.getCourts().setAll(snapshot.getCourts());
+            if (snapshot.getReferees() != null) tournament.getReferees().setAll(snapshot.getReferees());
+            if (snapshot.getBrackets() != null) {
+                tournament.mergeBrackets(snapshot.getBrackets(), MatchUpdateQueue.getInstance().getPendingMatchIds());
+            }
+        });
+    }
+}
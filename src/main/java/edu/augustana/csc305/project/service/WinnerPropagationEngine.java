@@ -0,0 +1,266 @@
+package edu.augustana.csc305.project.service;
+
+import edu.augustana.csc305.project.model.api.MatchUpdateDTO;
+import edu.augustana.csc305.project.model.domain.Bracket;
+import edu.augustana.csc305.project.model.domain.BracketSnapshot;
+import edu.augustana.csc305.project.model.domain.Match;
+import edu.augustana.csc305.project.model.domain.MatchEvent;
+import edu.augustana.csc305.project.model.domain.MatchEventJournal;
+import edu.augustana.csc305.project.model.domain.ModelTransaction;
+import edu.augustana.csc305.project.model.domain.Team;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The single path through which match results advance through a bracket.
+ *
+ * <p>Recording a result happens in three steps. First the engine works out every slot the result
+ * affects, following the bracket's downstream index: the winner moves into the next match, and if
+ * that replaces a team that had already won the next match, the next match's result is cleared
+ * and the change keeps travelling down the bracket. Then all planned changes are written to the
+ * model in one pass. Finally exactly one update is queued on the {@link MatchUpdateQueue} for each
+ * match that actually changed. If the engine has a {@link MatchEventJournal}, the same changes are
+ * appended to it, one event per changed value.</p>
+ *
+ * <p>Matches have no listeners of their own, so a result causes one set of property changes and
+ * one render. The changes are applied in one {@link ModelTransaction}, so the bracket's revision
+ * goes up once per result. The engine must be used on the JavaFX application thread.</p>
+ */
+public class WinnerPropagationEngine {
+
+    private final MatchUpdateQueue updateQueue;
+    private final MatchEventJournal journal;
+
+    /**
+     * The planned state of one match.
+     */
+    private static final class Plan {
+        private final Match match;
+        private Team team1;
+        private Team team2;
+        private Team winner;
+        private boolean complete;
+
+        private Plan(Match match) {
+            this.match = match;
+            this.team1 = match.getTeam1();
+            this.team2 = match.getTeam2();
+            this.winner = match.getWinner();
+            this.complete = match.isComplete();
+        }
+
+        private boolean teamsChanged() {
+            return team1 != match.getTeam1() || team2 != match.getTeam2();
+        }
+
+        private boolean resultChanged() {
+            return winner != match.getWinner() || complete != match.isComplete();
+        }
+    }
+
+    /**
+     * Constructs an engine that syncs through the shared {@link MatchUpdateQueue}.
+     */
+    public WinnerPropagationEngine() {
+        this(MatchUpdateQueue.getInstance());
+    }
+
+    /**
+     * Constructs an engine that syncs through the given queue.
+     *
+     * @param updateQueue The queue that sends match updates to the API.
+     */
+    public WinnerPropagationEngine(MatchUpdateQueue updateQueue) {
+        this(updateQueue, null);
+    }
+
+    /**
+     * Constructs an engine that syncs through the given queue and records its changes in a journal.
+     *
+     * @param updateQueue The queue that sends match updates to the API.
+     * @param journal The tournament's journal, or {@code null} to keep no history.
+     */
+    public WinnerPropagationEngine(MatchUpdateQueue updateQueue, MatchEventJournal journal) {
+        this.updateQueue = updateQueue;
+        this.journal = journal;
+    }
+
+    /**
+     * Records the result of a match, advances it through the bracket and queues the API updates.
+     *
+     * @param bracket The bracket containing the match.
+     * @param match The match that was decided.
+     * @param winner The winning team, or {@code null} to clear the result.
+     * @return The matches that changed, starting with {@code match}; empty if nothing changed.
+     */
+    public List<Match> recordResult(Bracket bracket, Match match, Team winner) {
+        return commit(plan(bracket, match, winner));
+    }
+
+    /**
+     * Puts a bracket back into the state of an earlier or later version, for undo and redo. Only
+     * the matches that differ between the two versions are looked at, and only those whose live
+     * state differs from the target are changed and sent to the API.
+     *
+     * @param from The version the bracket is in now.
+     * @param to The version to restore; derived from the same snapshot as {@code from}.
+     * @return The matches that changed, in round order; empty if nothing changed.
+     */
+    public List<Match> restore(BracketSnapshot from, BracketSnapshot to) {
+        List<Plan> changed = new ArrayList<>();
+        for (Match match : from.diff(to)) {
+            BracketSnapshot.MatchState state = to.get(match);
+            Plan plan = new Plan(match);
+            plan.team1 = state.team1();
+            plan.team2 = state.team2();
+            plan.winner = state.winner();
+            plan.complete = state.complete();
+            if (plan.teamsChanged() || plan.resultChanged()) {
+                changed.add(plan);
+            }
+        }
+        return commit(changed);
+    }
+
+    /**
+     * Journals, applies and queues the planned changes.
+     */
+    private List<Match> commit(List<Plan> changed) {
+        if (journal != null) {
+            for (Plan plan : changed) {
+                journal(plan);
+            }
+        }
+        List<MatchUpdateDTO> updates = new ArrayList<>(changed.size());
+        for (Plan plan : changed) {
+            updates.add(toUpdate(plan));
+        }
+        apply(changed);
+        for (int i = 0; i < changed.size(); i++) {
+            updateQueue.enqueue(changed.get(i).match.getMatchId(), updates.get(i));
+        }
+
+        List<Match> matches = new ArrayList<>(changed.size());
+        for (Plan plan : changed) {
+            matches.add(plan.match);
+        }
+        return matches;
+    }
+
+    /**
+     * Works out the final state of every match affected by the result without touching the model.
+     *
+     * @return The plans of the matches that differ from their current state, nearest first.
+     */
+    private static List<Plan> plan(Bracket bracket, Match match, Team winner) {
+        Map<Match, Plan> plans = new LinkedHashMap<>();
+        Plan decided = new Plan(match);
+        decided.winner = winner;
+        decided.complete = winner != null;
+        plans.put(match, decided);
+
+        Deque<Plan> work = new ArrayDeque<>();
+        Map<Match, Boolean> queued = new IdentityHashMap<>();
+        if (decided.winner != match.getWinner()) {
+            work.add(decided);
+            queued.put(match, true);
+        }
+
+        while (!work.isEmpty()) {
+            Plan source = work.poll();
+            for (Bracket.DownstreamSlot slot : bracket.getDownstream(source.match)) {
+                Plan next = plans.computeIfAbsent(slot.match(), Plan::new);
+                if (slot.slot() == 1) {
+                    next.team1 = source.winner;
+                } else {
+                    next.team2 = source.winner;
+                }
+                boolean winnerStillPlaying = next.winner == null || next.winner == next.team1 || next.winner == next.team2;
+                if (!winnerStillPlaying) {
+                    next.winner = null;
+                    next.complete = false;
+                    if (queued.put(next.match, true) == null) {
+                        work.add(next);
+                    }
+                }
+            }
+        }
+
+        List<Plan> changed = new ArrayList<>(plans.size());
+        for (Plan plan : plans.values()) {
+            if (plan.teamsChanged() || plan.resultChanged()) {
+                changed.add(plan);
+            }
+        }
+        return changed;
+    }
+
+    private static void apply(List<Plan> changed) {
+        ModelTransaction.run(() -> {
+            for (Plan plan : changed) {
+                Match match = plan.match;
+                if (plan.team1 != match.getTeam1()) match.setTeam1(plan.team1);
+                if (plan.team2 != match.getTeam2()) match.setTeam2(plan.team2);
+                if (plan.winner != match.getWinner()) match.setWinner(plan.winner);
+                if (plan.complete != match.isComplete()) match.setComplete(plan.complete);
+            }
+        });
+    }
+
+    /**
+     * Appends the differences between a match and its plan to the journal. Must run before the
+     * plan is applied.
+     */
+    private void journal(Plan plan) {
+        Match match = plan.match;
+        int matchId = match.getMatchId();
+        if (plan.team1 != match.getTeam1()) {
+            journal.append(new MatchEvent.TeamSubstituted(matchId, 1, idOf(plan.team1), idOf(match.getTeam1())));
+        }
+        if (plan.team2 != match.getTeam2()) {
+            journal.append(new MatchEvent.TeamSubstituted(matchId, 2, idOf(plan.team2), idOf(match.getTeam2())));
+        }
+        if (plan.resultChanged()) {
+            if (match.getWinner() == null && plan.winner != null) {
+                journal.append(new MatchEvent.ResultSet(matchId, plan.winner.getTeamId()));
+            } else {
+                journal.append(new MatchEvent.ResultCorrected(matchId, idOf(plan.winner), idOf(match.getWinner())));
+            }
+        }
+    }
+
+    private static int idOf(Team team) {
+        return team == null ? MatchEventJournal.NONE : team.getTeamId();
+    }
+
+    /**
+     * Builds the API update for a plan. Must run before the plan is applied, since a team or winner
+     * that the plan removes is sent as an explicit clear.
+     */
+    private static MatchUpdateDTO toUpdate(Plan plan) {
+        Match match = plan.match;
+        MatchUpdateDTO update = new MatchUpdateDTO();
+        if (plan.team1 != null) {
+            update.setTeam1Id(plan.team1.getTeamId());
+        } else if (match.getTeam1() != null) {
+            update.setClearTeam1(true);
+        }
+        if (plan.team2 != null) {
+            update.setTeam2Id(plan.team2.getTeamId());
+        } else if (match.getTeam2() != null) {
+            update.setClearTeam2(true);
+        }
+        if (plan.winner != null) {
+            update.setWinnerId(plan.winner.getTeamId());
+        } else if (match.getWinner() != null) {
+            update.setClearWinner(true);
+        }
+        return update;
+    }
+}
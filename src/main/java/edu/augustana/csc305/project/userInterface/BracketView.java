@@ -1,7 +1,6 @@
 package edu.augustana.csc305.project.userInterface;
 
 import edu.augustana.csc305.project.model.domain.*;
-import javafx.beans.binding.Bindings;
 import javafx.beans.binding.NumberBinding;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -11,13 +10,16 @@ import javafx.scene.Cursor;
 import javafx.scene.Group;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Line;
 import javafx.util.StringConverter;
+import javafx.util.Subscription;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -27,6 +29,10 @@ import java.util.function.Consumer;
  * and supports interactive features like zooming (CTRL + Scroll or +/- keys) and panning via a ScrollPane.
  * It is responsible solely for rendering and handling user interaction, delegating all logic to the Controller.</p>
  *
+ * <p>In what-if mode the view shows a {@link BracketOverlay} instead of the bracket's own results:
+ * hypothetical teams and winners are drawn in {@link View#HYPOTHETICAL_COLOR}, and clicking a team
+ * picks it as the hypothetical winner of its match.</p>
+ *
  * @author Java doc by Gemini 2.5 Flash
  * <p>The initial Javadoc and usage of core JavaFX components in this class were developed with the assistance of an AI model
  * (Gemini 2.5 Pro).</p>
@@ -70,6 +76,22 @@ public class BracketView extends View {
      * Button to reset the current zoom level to 1.0.
      */
     private final Button resetZoomButton;
+    /**
+     * Button to undo the most recent result recorded in the selected bracket.
+     */
+    private final Button undoButton;
+    /**
+     * Button to redo the most recently undone result in the selected bracket.
+     */
+    private final Button redoButton;
+    /**
+     * Button to enter or leave what-if mode.
+     */
+    private final Button whatIfButton;
+    /**
+     * Button to commit the hypothetical results of what-if mode; only shown in that mode.
+     */
+    private final Button applyScenarioButton;
     /**
      * The ScrollPane containing the zoom-able bracket content, providing panning functionality.
      */
@@ -100,6 +122,28 @@ public class BracketView extends View {
      * Callback executed when a zoom action (scroll or key press) is requested, passing the zoom factor.
      */
     private Consumer<Double> onZoomRequested;
+    /**
+     * Everything the current render attached to the model (style listeners, label bindings and the
+     * names of the teams shown).
+     * It is released before the next render, so re-rendering never leaves listeners behind on matches.
+     */
+    private final List<Subscription> renderSubscriptions = new ArrayList<>();
+    /**
+     * The two team labels of every rendered match, so what-if changes can restyle them in place.
+     */
+    private final Map<Match, Label[]> matchLabels = new IdentityHashMap<>();
+    /**
+     * The what-if overlay being shown, or {@code null} when the bracket's own results are shown.
+     */
+    private BracketOverlay overlay;
+    /**
+     * The listener on the overlay's version, released when the overlay is cleared.
+     */
+    private Subscription overlaySubscription = Subscription.EMPTY;
+    /**
+     * Callback executed in what-if mode when a team is clicked, passing its match and slot (1 or 2).
+     */
+    private BiConsumer<Match, Integer> onTeamClicked;
 
 
     /**
@@ -111,6 +155,14 @@ public class BracketView extends View {
         previousButton = new Button("◀");
         nextButton = new Button("▶");
         resetZoomButton = new Button("⟲ Reset Zoom");
+        undoButton = new Button("Undo");
+        redoButton = new Button("Redo");
+        undoButton.setDisable(true);
+        redoButton.setDisable(true);
+        whatIfButton = new Button("What-if");
+        applyScenarioButton = new Button("Apply Scenario");
+        applyScenarioButton.setVisible(false);
+        applyScenarioButton.setManaged(false);
         backButton = new Button("Back to Home");
 
         bracketPane = new Pane();
@@ -129,7 +181,7 @@ public class BracketView extends View {
         HBox leftControls = new HBox(10, backButton);
         leftControls.setAlignment(Pos.CENTER_LEFT);
 
-        HBox rightControls = new HBox(10, resetZoomButton);
+        HBox rightControls = new HBox(10, whatIfButton, applyScenarioButton, undoButton, redoButton, resetZoomButton);
         rightControls.setAlignment(Pos.CENTER_RIGHT);
 
         HBox spacer = new HBox();
@@ -175,6 +227,10 @@ public class BracketView extends View {
         View.styleButton(previousButton);
         View.styleButton(nextButton);
         View.styleButton(resetZoomButton);
+        View.styleButton(undoButton);
+        View.styleButton(redoButton);
+        View.styleButton(whatIfButton);
+        View.styleButton(applyScenarioButton);
         View.styleButton(backButton);
 
         View.styleComboBox(bracketSelector);
@@ -335,12 +391,15 @@ public class BracketView extends View {
 
     /**
      * Renders the specified {@code Bracket} onto the {@code bracketPane}.
-     * This clears any existing content, determines the layout coordinates, and draws
-     * all match boxes, round labels, and connecting lines.
+     * This clears any existing content, releasing the listeners the previous render attached to the model,
+     * determines the layout coordinates, and draws all match boxes, round labels, and connecting lines.
      *
      * @param bracket The Bracket object to be rendered. If null or empty, the view is cleared.
      */
     public void renderBracket(Bracket bracket) {
+        renderSubscriptions.forEach(Subscription::unsubscribe);
+        renderSubscriptions.clear();
+        matchLabels.clear();
         bracketPane.getChildren().clear();
         resetZoom();
 
@@ -426,7 +485,8 @@ public class BracketView extends View {
 
     /**
      * Creates the UI component (VBox) for a single {@code Match}.
-     * This includes two team labels and a separator, with data binding and click handlers.
+     * This includes two team labels and a separator, kept up to date with the match and with the
+     * names of its teams, and click handlers.
      *
      * @param match The Match object to create the UI for.
      * @return A VBox containing the UI representation of the match.
@@ -434,33 +494,23 @@ public class BracketView extends View {
     private VBox createMatchUI(Match match) {
         Label team1Label = new Label();
         Label team2Label = new Label();
+        matchLabels.put(match, new Label[]{team1Label, team2Label});
 
-        team1Label.textProperty().bind(Bindings.createStringBinding(() -> {
-            if (match.getTeam1() != null) {
-                return match.getTeam1().getTeamName();
-            } else {
-                return "TBD";
-            }
-        }, match.team1Property()));
-
-        team2Label.textProperty().bind(Bindings.createStringBinding(() -> {
-            if (match.getTeam2() != null) {
-                return match.getTeam2().getTeamName();
-            } else {
-                return "TBD";
-            }
-        }, match.team2Property()));
-
-        javafx.beans.value.ChangeListener<Object> styleListener = (obs, oldVal, newVal) -> updateMatchStyles(match, team1Label, team2Label);
-
-        match.winnerProperty().addListener(styleListener);
-        match.team1Property().addListener(styleListener);
-        match.team2Property().addListener(styleListener);
+        renderSubscriptions.add(Subscription.combine(
+                match.winnerProperty().subscribe((oldVal, newVal) -> updateMatchLabels(match, team1Label, team2Label)),
+                match.team1Property().subscribe((oldVal, newVal) -> updateMatchLabels(match, team1Label, team2Label)),
+                match.team2Property().subscribe((oldVal, newVal) -> updateMatchLabels(match, team1Label, team2Label)),
+                match.team1Property().flatMap(Team::teamNameProperty)
+                        .subscribe((oldVal, newVal) -> updateMatchLabels(match, team1Label, team2Label)),
+                match.team2Property().flatMap(Team::teamNameProperty)
+                        .subscribe((oldVal, newVal) -> updateMatchLabels(match, team1Label, team2Label))));
 
-        updateMatchStyles(match, team1Label, team2Label);
+        updateMatchLabels(match, team1Label, team2Label);
 
         styleTeamLabel(team1Label);
         styleTeamLabel(team2Label);
+        team1Label.setOnMouseClicked(event -> handleTeamClicked(match, 1, event));
+        team2Label.setOnMouseClicked(event -> handleTeamClicked(match, 2, event));
 
         Line separator = new Line(0, 0, TEAM_LABEL_WIDTH, 0);
         separator.setStroke(Color.web(View.BORDER_COLOR));
@@ -470,7 +520,7 @@ public class BracketView extends View {
         teamsContainer.setStyle(View.DEFAULT_MATCH_STYLE);
 
         teamsContainer.setOnMouseClicked(event -> {
-            if (onMatchClicked != null) {
+            if (overlay == null && onMatchClicked != null) {
                 onMatchClicked.accept(match);
             }
             event.consume();
@@ -496,23 +546,76 @@ public class BracketView extends View {
     }
 
     /**
-     * Updates the text styles of the match box labels based on the winner.
+     * Passes a click on a team label to the what-if handler. Outside what-if mode the click is
+     * left to the match box.
+     */
+    private void handleTeamClicked(Match match, int slot, MouseEvent event) {
+        if (overlay != null) {
+            if (onTeamClicked != null) {
+                onTeamClicked.accept(match, slot);
+            }
+            event.consume();
+        }
+    }
+
+    /**
+     * Updates the text and styles of the match box labels from the match, or from the what-if
+     * overlay while one is shown. Hypothetical teams and winners get the hypothetical styles.
      */
-    private void updateMatchStyles(Match match, Label team1Label, Label team2Label) {
-        Team winner = match.getWinner();
-        Team t1 = match.getTeam1();
-        Team t2 = match.getTeam2();
+    private void updateMatchLabels(Match match, Label team1Label, Label team2Label) {
+        boolean hypothetical = overlay != null && overlay.isHypothetical(match);
+        Team t1 = overlay != null ? overlay.getTeam1(match) : match.getTeam1();
+        Team t2 = overlay != null ? overlay.getTeam2(match) : match.getTeam2();
+        Team winner = overlay != null ? overlay.getWinner(match) : match.getWinner();
 
-        team1Label.setStyle(View.NORMAL_STYLE);
-        team2Label.setStyle(View.NORMAL_STYLE);
+        team1Label.setText(t1 != null ? t1.getTeamName() : "TBD");
+        team2Label.setText(t2 != null ? t2.getTeamName() : "TBD");
 
-        if (winner != null) {
-            if (t1 != null && (t1.equals(winner) || (t1.getTeamId() != 0 && t1.getTeamId() == winner.getTeamId()))) {
-                team1Label.setStyle(View.WINNER_STYLE);
-            }
-            if (t2 != null && (t2.equals(winner) || (t2.getTeamId() != 0 && t2.getTeamId() == winner.getTeamId()))) {
-                team2Label.setStyle(View.WINNER_STYLE);
-            }
+        // Teams come from the tournament's TeamRegistry, so the winner is the same instance as its team slot.
+        team1Label.setStyle(labelStyle(winner != null && t1 == winner, hypothetical && t1 != match.getTeam1(), hypothetical));
+        team2Label.setStyle(labelStyle(winner != null && t2 == winner, hypothetical && t2 != match.getTeam2(), hypothetical));
+    }
+
+    private static String labelStyle(boolean winner, boolean teamChanged, boolean hypothetical) {
+        if (winner) {
+            return hypothetical ? View.HYPOTHETICAL_WINNER_STYLE : View.WINNER_STYLE;
+        }
+        return teamChanged ? View.HYPOTHETICAL_STYLE : View.NORMAL_STYLE;
+    }
+
+    /**
+     * Shows a what-if overlay over the rendered bracket, or the bracket's own results again when
+     * {@code overlay} is {@code null}. The labels follow the overlay as it changes; nothing is
+     * re-rendered.
+     *
+     * @param overlay The overlay to show, or {@code null} to leave what-if mode.
+     */
+    public void setOverlay(BracketOverlay overlay) {
+        overlaySubscription.unsubscribe();
+        overlaySubscription = Subscription.EMPTY;
+        this.overlay = overlay;
+        if (overlay != null) {
+            overlaySubscription = overlay.versionProperty().subscribe(this::refreshMatchLabels);
+        }
+        refreshMatchLabels();
+
+        whatIfButton.setText(overlay != null ? "Discard What-if" : "What-if");
+        applyScenarioButton.setVisible(overlay != null);
+        applyScenarioButton.setManaged(overlay != null);
+    }
+
+    /**
+     * Gets the what-if overlay being shown.
+     *
+     * @return The overlay, or {@code null} outside what-if mode.
+     */
+    public BracketOverlay getOverlay() {
+        return overlay;
+    }
+
+    private void refreshMatchLabels() {
+        for (Map.Entry<Match, Label[]> entry : matchLabels.entrySet()) {
+            updateMatchLabels(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
         }
     }
 
@@ -605,6 +708,42 @@ public class BracketView extends View {
         return resetZoomButton;
     }
 
+    /**
+     * Gets the button for undoing the last result.
+     *
+     * @return The undo button.
+     */
+    public Button getUndoButton() {
+        return undoButton;
+    }
+
+    /**
+     * Gets the button for redoing the last undone result.
+     *
+     * @return The redo button.
+     */
+    public Button getRedoButton() {
+        return redoButton;
+    }
+
+    /**
+     * Gets the button for entering and leaving what-if mode.
+     *
+     * @return The what-if button.
+     */
+    public Button getWhatIfButton() {
+        return whatIfButton;
+    }
+
+    /**
+     * Gets the button for committing the hypothetical results of what-if mode.
+     *
+     * @return The apply scenario button.
+     */
+    public Button getApplyScenarioButton() {
+        return applyScenarioButton;
+    }
+
     /**
      * Gets the button for navigating back to the home view.
      *
@@ -644,6 +783,15 @@ public class BracketView extends View {
         this.onMatchClicked = handler;
     }
 
+    /**
+     * Sets the handler to be called in what-if mode when a team is clicked.
+     *
+     * @param handler A BiConsumer that accepts the {@link Match} and the slot (1 or 2) of the clicked team.
+     */
+    public void setOnTeamClicked(BiConsumer<Match, Integer> handler) {
+        this.onTeamClicked = handler;
+    }
+
     /**
      * Updates the interactivity of all match nodes. This version ensures all nodes
      * are always clickable, as the pop-up view will handle role-based permissions.
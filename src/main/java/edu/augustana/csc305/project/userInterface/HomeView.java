@@ -35,6 +35,8 @@ public class HomeView extends View {
     private final Button manageUsersButton;
     /** Button to log out of the application. */
     private final Button logoutButton;
+    /** Label showing how many of the tournament's matches have been played. */
+    private final Label progressLabel;
 
     /**
      * Constructs the HomeView, setting up the main title, subtitle, and all navigation buttons
@@ -49,7 +51,9 @@ public class HomeView extends View {
         Label titleLabel = View.createStyledLabel("Augustana Volleyball", ACCENT_COLOR, 48, true);
         Label subtitleLabel = View.createStyledLabel("Tournament Manager", TEXT_COLOR, 24, false);
 
-        VBox titleBox = new VBox(10, titleLabel, subtitleLabel);
+        progressLabel = View.createStyledLabel("", TEXT_COLOR, 16, false);
+
+        VBox titleBox = new VBox(10, titleLabel, subtitleLabel, progressLabel);
         titleBox.setAlignment(Pos.CENTER);
 
         manageTeamsButton = new Button("Manage Teams");
@@ -120,6 +124,7 @@ public class HomeView extends View {
     public Button getPointsEntryButton() { return pointsEntryButton; }
     public Button getSelectionViewButton() { return selectionViewButton; }
     public Button getManageUsersButton() { return manageUsersButton; }
+    public Label getProgressLabel() { return progressLabel; }
 
     @Override
     public void refreshView() {
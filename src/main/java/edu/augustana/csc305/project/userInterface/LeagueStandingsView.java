@@ -1,5 +1,6 @@
 package edu.augustana.csc305.project.userInterface;
 
+import edu.augustana.csc305.project.model.domain.Leaderboard;
 import edu.augustana.csc305.project.model.domain.League;
 import edu.augustana.csc305.project.model.domain.Team;
 import javafx.geometry.Insets;
@@ -10,14 +11,16 @@ import javafx.scene.layout.VBox;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
 /**
  * A view for displaying league standings in a table format.
  *
- * <p>This view displays team standings (Team Name and Points) for a selected league
+ * <p>This view displays team standings (Rank, Team Name and Points) for a selected league
  * in a {@link TableView}.
- * The standings are intended to be sorted by points
- * in descending order by the controller.
+ * The table is backed directly by a {@link Leaderboard}, which keeps the teams sorted by points
+ * in descending order and gives tied teams the same rank, so only the visible rows are read
+ * and an update only redraws the rows it moves.
  * It includes a Back button for navigation.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
@@ -25,9 +28,14 @@ import java.util.Map;
 public class LeagueStandingsView extends View {
 
     /**
-     * The table view for displaying team standings with Team Name and Points columns.
+     * The teams of the league in standings order; the items of {@link #standingsTable}.
      */
-    private final TableView<Map.Entry<Team, Integer>> standingsTable = new TableView<>();
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    /**
+     * The table view for displaying team standings with Rank, Team Name and Points columns.
+     */
+    private final TableView<Team> standingsTable = new TableView<>(leaderboard);
 
     /**
      * The label used to display the selected league name.
@@ -41,7 +49,7 @@ public class LeagueStandingsView extends View {
 
     /**
      * Constructs the League Standings View and initializes its UI components and layout.
-     * Sets up the {@link TableView} with two columns (Team Name and Points), styling, and navigation.
+     * Sets up the {@link TableView} with three columns (Rank, Team Name and Points), styling, and navigation.
      */
     public LeagueStandingsView() {
         this.setPadding(new Insets(20));
@@ -55,17 +63,25 @@ public class LeagueStandingsView extends View {
         standingsTable.setMaxHeight(400);
         View.styleTableView(standingsTable);
 
-        TableColumn<Map.Entry<Team, Integer>, String> teamNameColumn = getEntryStringTableColumn();
+        TableColumn<Team, Integer> rankColumn = getIntegerTableColumn("Rank", leaderboard::getRank, 80);
 
-        TableColumn<Map.Entry<Team, Integer>, Integer> pointsColumn = getEntryIntegerTableColumn();
+        TableColumn<Team, String> teamNameColumn = getStringTableColumn();
 
+        TableColumn<Team, Integer> pointsColumn = getIntegerTableColumn("Points", leaderboard::getPoints, 200);
+
+        // The leaderboard keeps the order; the table cannot re-sort it.
+        rankColumn.setSortable(false);
+        teamNameColumn.setSortable(false);
+        pointsColumn.setSortable(false);
+
+        standingsTable.getColumns().add(rankColumn);
         standingsTable.getColumns().add(teamNameColumn);
         standingsTable.getColumns().add(pointsColumn);
         standingsTable.setColumnResizePolicy(TableView.UNCONSTRAINED_RESIZE_POLICY);
 
         standingsTable.setRowFactory(tv -> new TableRow<>() {
             @Override
-            protected void updateItem(Map.Entry<Team, Integer> item, boolean empty) {
+            protected void updateItem(Team item, boolean empty) {
                 super.updateItem(item, empty);
                 if (item == null || empty) {
                     setStyle("-fx-background-color: " + PANE_BG_COLOR + ";");
@@ -96,11 +112,11 @@ public class LeagueStandingsView extends View {
     }
 
     @NotNull
-    private TableColumn<Map.Entry<Team, Integer>, Integer> getEntryIntegerTableColumn() {
-        TableColumn<Map.Entry<Team, Integer>, Integer> pointsColumn = new TableColumn<>("Points");
+    private TableColumn<Team, Integer> getIntegerTableColumn(String title, ToIntFunction<Team> value, double width) {
+        TableColumn<Team, Integer> pointsColumn = new TableColumn<>(title);
         pointsColumn.setCellValueFactory(param ->
-                new javafx.beans.property.SimpleIntegerProperty(param.getValue().getValue()).asObject());
-        pointsColumn.setPrefWidth(200);
+                new javafx.beans.property.SimpleIntegerProperty(value.applyAsInt(param.getValue())).asObject());
+        pointsColumn.setPrefWidth(width);
         pointsColumn.setCellFactory(column -> new TableCell<>() {
             @Override
             protected void updateItem(Integer item, boolean empty) {
@@ -118,11 +134,11 @@ public class LeagueStandingsView extends View {
     }
 
     @NotNull
-    private TableColumn<Map.Entry<Team, Integer>, String> getEntryStringTableColumn() {
-        TableColumn<Map.Entry<Team, Integer>, String> teamNameColumn = new TableColumn<>("Team Name");
+    private TableColumn<Team, String> getStringTableColumn() {
+        TableColumn<Team, String> teamNameColumn = new TableColumn<>("Team Name");
         teamNameColumn.setCellValueFactory(param ->
-                new javafx.beans.property.SimpleStringProperty(param.getValue().getKey().getTeamName()));
-        teamNameColumn.setPrefWidth(398);
+                new javafx.beans.property.SimpleStringProperty(param.getValue().getTeamName()));
+        teamNameColumn.setPrefWidth(318);
         teamNameColumn.setCellFactory(column -> new TableCell<>() {
             @Override
             protected void updateItem(String item, boolean empty) {
@@ -144,10 +160,19 @@ public class LeagueStandingsView extends View {
      *
      * @return The standings table view.
      */
-    public TableView<Map.Entry<Team, Integer>> getStandingsTable() {
+    public TableView<Team> getStandingsTable() {
         return standingsTable;
     }
 
+    /**
+     * Gets the leaderboard shown in the standings table.
+     *
+     * @return The leaderboard.
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
     /**
      * Gets the league name label.
      *
@@ -167,14 +192,16 @@ public class LeagueStandingsView extends View {
     }
 
     /**
-     * Updates the standings table with the provided standing's data.
+     * Updates the standings table with the provided standing's data. Only the teams whose points
+     * or names changed are moved.
      *
-     * @param standings A map of {@link Team} objects to their points.
+     * @param standings A map of {@link Team} objects to their points, or {@code null} to clear the table.
      */
     public void updateStandings(Map<Team, Integer> standings) {
-        standingsTable.getItems().clear();
-        if (standings != null && !standings.isEmpty()) {
-            standingsTable.getItems().addAll(standings.entrySet());
+        if (standings == null) {
+            leaderboard.clear();
+        } else {
+            leaderboard.update(standings);
         }
     }
 
@@ -196,7 +223,7 @@ public class LeagueStandingsView extends View {
      */
     @Override
     public void refreshView() {
-        standingsTable.getItems().clear();
+        leaderboard.clear();
         leagueNameLabel.setText("No league selected");
     }
 }
\ No newline at end of file
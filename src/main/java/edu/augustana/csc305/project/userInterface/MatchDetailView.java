@@ -1,7 +1,6 @@
 package edu.augustana.csc305.project.userInterface;
 
 import edu.augustana.csc305.project.model.api.MatchDTO;
-import edu.augustana.csc305.project.model.api.MatchUpdateDTO;
 import edu.augustana.csc305.project.model.domain.Match;
 import edu.augustana.csc305.project.model.domain.Team;
 import edu.augustana.csc305.project.model.domain.User;
@@ -29,7 +28,8 @@ import retrofit2.Response;
  * <p>It dynamically shows controls for updating the match winner based on the
  * current user's role (Admin, Organizer, or Referee).
  * This view is typically
- * displayed in a separate pop-up stage and closes upon successfully saving the winner.</p>
+ * displayed in a separate pop-up stage and closes once a winner has been chosen; the chosen winner
+ * is reported through {@link #getSelectedWinner()}.</p>
  *
  * @author Java doc by Gemini 2.5 Flash
  * <p>The initial structure, Javadoc, and key data binding implementations received assistance from an AI model
@@ -47,6 +47,7 @@ public class MatchDetailView extends View {
 
     private Label courtLabel;
     private Label refereeLabel;
+    private Team selectedWinner;
 
     /**
      * Constructs the Match Detail pop-up window with an improved, modern layout.
@@ -261,51 +262,8 @@ public class MatchDetailView extends View {
                     return;
                 }
 
-                saveButton.setDisable(true);
-                winnerSelector.setDisable(true);
-                statusLabel.setText("Saving...");
-                statusLabel.setTextFill(javafx.scene.paint.Color.BLUE);
-
-                MatchUpdateDTO updateDTO = new MatchUpdateDTO();
-                updateDTO.setWinnerId(selectedWinner.getTeamId());
-
-                System.out.println("DEBUG: Sending Update for Match " + match.getMatchId() + " -> WinnerID: " + selectedWinner.getTeamId());
-
-                api.updateMatch(match.getMatchId(), updateDTO).enqueue(new Callback<>() {
-                    @Override
-                    public void onResponse(@NotNull Call<Void> call, @NotNull Response<Void> response) {
-                        Platform.runLater(() -> {
-                            if (response.isSuccessful()) {
-                                match.setWinner(selectedWinner);
-                                match.setComplete(true);
-                                ((Stage) getScene().getWindow()).close();
-                            } else {
-                                statusLabel.setText("Error " + response.code() + ": " + response.message());
-                                statusLabel.setTextFill(javafx.scene.paint.Color.RED);
-                                saveButton.setDisable(false);
-                                winnerSelector.setDisable(false);
-
-                                try {
-                                    if (response.errorBody() != null) {
-                                        System.err.println("API Error Body: " + response.errorBody().string());
-                                    }
-                                } catch (Exception ex) {
-                                    ex.printStackTrace();
-                                }
-                            }
-                        });
-                    }
-
-                    @Override
-                    public void onFailure(@NotNull Call<Void> call, @NotNull Throwable t) {
-                        Platform.runLater(() -> {
-                            statusLabel.setText("Network Error: " + t.getMessage());
-                            statusLabel.setTextFill(javafx.scene.paint.Color.RED);
-                            saveButton.setDisable(false);
-                            winnerSelector.setDisable(false);
-                        });
-                    }
-                });
+                this.selectedWinner = selectedWinner;
+                ((Stage) getScene().getWindow()).close();
             }
         });
 
@@ -349,6 +307,16 @@ public class MatchDetailView extends View {
         return winnerBox;
     }
 
+    /**
+     * Gets the winner chosen in this pop-up. The view does not change the match itself; the caller
+     * records the result once the pop-up has closed.
+     *
+     * @return The team chosen with "Save Winner", or {@code null} if the pop-up was closed without saving.
+     */
+    public Team getSelectedWinner() {
+        return selectedWinner;
+    }
+
     /**
      * This view is designed to be static once displayed in a pop-up and does not require a refresh
      * mechanism, as data is bound or managed by the pop-ups life cycle.
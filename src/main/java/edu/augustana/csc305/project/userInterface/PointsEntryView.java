@@ -56,6 +56,8 @@ public class PointsEntryView extends View {
 
     /** Label for displaying error or status messages to the user. */
     private final Label messageLabel = new Label();
+    /** Label showing how many matches of the selected bracket have been played. */
+    private final Label bracketProgressLabel = View.createStyledLabel("", 12, false);
 
     /**
      * Constructs and initializes the PointsEntryView.
@@ -109,7 +111,8 @@ public class PointsEntryView extends View {
 
         VBox bracketSelectionBox = new VBox(5,
                 View.createStyledLabel("Select Bracket for Generation:", 14, true),
-                bracketComboBox);
+                bracketComboBox,
+                bracketProgressLabel);
         bracketSelectionBox.setPadding(new Insets(0, 0, 10, 0));
 
 
@@ -190,6 +193,15 @@ public class PointsEntryView extends View {
         return enterPoints;
     }
 
+    /**
+     * Gets the label showing the selected bracket's progress.
+     *
+     * @return The bracket progress {@link Label}.
+     */
+    public Label getBracketProgressLabel() {
+        return bracketProgressLabel;
+    }
+
     /**
      * Gets the ComboBox used for selecting a bracket.
      *
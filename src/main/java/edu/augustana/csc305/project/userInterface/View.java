@@ -41,6 +41,18 @@ public abstract class View extends VBox {
      * Style string for normal text.
      */
     public static final String NORMAL_STYLE = "-fx-font-weight: normal; -fx-text-fill: " + TEXT_COLOR + ";";
+    /**
+     * Colour of hypothetical results in a bracket's what-if mode.
+     */
+    public static final String HYPOTHETICAL_COLOR = "#f39c12";
+    /**
+     * Style string for a team whose slot is hypothetical in what-if mode.
+     */
+    public static final String HYPOTHETICAL_STYLE = "-fx-font-weight: normal; -fx-font-style: italic; -fx-text-fill: " + HYPOTHETICAL_COLOR + ";";
+    /**
+     * Style string for a hypothetical winner in what-if mode.
+     */
+    public static final String HYPOTHETICAL_WINNER_STYLE = "-fx-font-weight: bold; -fx-font-style: italic; -fx-text-fill: " + HYPOTHETICAL_COLOR + ";";
 
     /**
      * Base style for navigation buttons (dark theme).
@@ -6,6 +6,7 @@ module edu.augustana.csc305.project {
     requires okhttp3;
     requires retrofit2;
     requires retrofit2.converter.gson;
+    requires com.google.gson;
     requires annotations;
 
     exports edu.augustana.csc305.project;